@@ -30,6 +30,7 @@ import cpw.mods.fml.common.event.FMLInterModComms.IMCMessage;
 import cpw.mods.fml.common.event.FMLPostInitializationEvent;
 import cpw.mods.fml.common.event.FMLPreInitializationEvent;
 import cpw.mods.fml.common.event.FMLServerStartedEvent;
+import cpw.mods.fml.common.event.FMLServerStartingEvent;
 import cpw.mods.fml.common.event.FMLServerStoppedEvent;
 import cpw.mods.fml.common.network.NetworkRegistry;
 import cpw.mods.fml.common.registry.EntityRegistry;
@@ -40,7 +41,9 @@ import crazypants.enderio.block.BlockDarkSteelLadder;
 import crazypants.enderio.block.BlockDarkSteelPressurePlate;
 import crazypants.enderio.block.BlockReinforcedObsidian;
 import crazypants.enderio.conduit.BlockConduitBundle;
+import crazypants.enderio.conduit.ConduitNetworkTickHandler;
 import crazypants.enderio.conduit.ConduitRecipes;
+import crazypants.enderio.conduit.NetworkProfileCommand;
 import crazypants.enderio.conduit.facade.BlockConduitFacade;
 import crazypants.enderio.conduit.facade.ItemConduitFacade;
 import crazypants.enderio.conduit.gas.ItemGasConduit;
@@ -146,11 +149,13 @@ import crazypants.enderio.material.MaterialRecipes;
 import crazypants.enderio.material.OreDictionaryPreferences;
 import crazypants.enderio.network.MessageTileNBT;
 import crazypants.enderio.network.PacketHandler;
+import crazypants.enderio.network.PacketTileDelta;
 import crazypants.enderio.rail.BlockEnderRail;
 import crazypants.enderio.teleport.BlockTravelAnchor;
 import crazypants.enderio.teleport.ItemTravelStaff;
 import crazypants.enderio.teleport.TeleportRecipes;
 import crazypants.enderio.teleport.TravelController;
+import crazypants.util.EntityScanService;
 import crazypants.util.EntityUtil;
 import static crazypants.enderio.EnderIO.MODID;
 import static crazypants.enderio.EnderIO.MOD_NAME;
@@ -491,9 +496,11 @@ public class EnderIO {
 
     PacketHandler.INSTANCE.registerMessage(MessageTileNBT.class, MessageTileNBT.class, PacketHandler.nextID(), Side.SERVER);
     PacketHandler.INSTANCE.registerMessage(PacketRedstoneMode.class, PacketRedstoneMode.class, PacketHandler.nextID(), Side.SERVER);
+    PacketHandler.INSTANCE.registerMessage(PacketTileDelta.class, PacketTileDelta.class, PacketHandler.nextID(), Side.CLIENT);
 
     NetworkRegistry.INSTANCE.registerGuiHandler(this, guiHandler);
     MinecraftForge.EVENT_BUS.register(this);
+    MinecraftForge.EVENT_BUS.register(EntityScanService.instance);
 
     //Register Custom Dungeon Loot here
     if(Config.lootDarkSteel) {
@@ -723,6 +730,11 @@ public class EnderIO {
     }
   }
 
+  @EventHandler
+  public void serverStarting(FMLServerStartingEvent event) {
+    event.registerServerCommand(new NetworkProfileCommand());
+  }
+
   @EventHandler
   public void serverStarted(FMLServerStartedEvent event) {
     HyperCubeRegister.load();
@@ -731,6 +743,7 @@ public class EnderIO {
 
   @EventHandler
   public void serverStopped(FMLServerStoppedEvent event) {
+    ConduitNetworkTickHandler.instance.clear();
     HyperCubeRegister.unload();
     ServerChannelRegister.store();
   }
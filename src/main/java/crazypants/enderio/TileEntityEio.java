@@ -1,16 +1,29 @@
 package crazypants.enderio;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.S35PacketUpdateTileEntity;
+import net.minecraft.server.management.PlayerManager;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.WorldServer;
+import crazypants.enderio.network.PacketHandler;
+import crazypants.enderio.network.PacketTileDelta;
 
 /**
  * Created by CrazyPants on 27/02/14.
  */
 public abstract class TileEntityEio extends TileEntity {
 
+  //on the server the state clients were last sent, on the client the state last received
+  private NBTTagCompound lastSyncedTag;
+
   @Override
   public final void readFromNBT(NBTTagCompound root) {
     super.readFromNBT(root);
@@ -27,12 +40,87 @@ public abstract class TileEntityEio extends TileEntity {
   public Packet getDescriptionPacket() {
     NBTTagCompound tag = new NBTTagCompound();
     writeCustomNBT(tag);
+    if(lastSyncedTag != null) {
+      //the receiver may now hold values the other clients were never sent, so
+      //make sure the next sync sends the current value of those tags to everyone
+      for (String key : getKeys(tag)) {
+        if(!tag.getTag(key).equals(lastSyncedTag.getTag(key))) {
+          lastSyncedTag.removeTag(key);
+        }
+      }
+    }
     return new S35PacketUpdateTileEntity(xCoord, yCoord, zCoord, 1, tag);
   }
 
   @Override
   public void onDataPacket(NetworkManager net, S35PacketUpdateTileEntity pkt) {
-    readCustomNBT(pkt.func_148857_g());
+    lastSyncedTag = pkt.func_148857_g();
+    readCustomNBT(lastSyncedTag);
+  }
+
+  /**
+   * Sends clients the tags written by writeCustomNBT that have changed since
+   * the last sync, rather than the whole tile. Nothing is sent if nothing
+   * changed.
+   */
+  protected void syncChangesToClients() {
+    NBTTagCompound tag = new NBTTagCompound();
+    writeCustomNBT(tag);
+    NBTTagCompound changed = new NBTTagCompound();
+    List<String> removed = new ArrayList<String>();
+    for (String key : getKeys(tag)) {
+      NBTBase value = tag.getTag(key);
+      if(lastSyncedTag == null || !value.equals(lastSyncedTag.getTag(key))) {
+        changed.setTag(key, value);
+      }
+    }
+    if(lastSyncedTag != null) {
+      for (String key : getKeys(lastSyncedTag)) {
+        if(!tag.hasKey(key)) {
+          removed.add(key);
+        }
+      }
+    }
+    if(changed.hasNoTags() && removed.isEmpty()) {
+      return;
+    }
+    if(!(worldObj instanceof WorldServer)) {
+      updateBlock();
+      return;
+    }
+    lastSyncedTag = tag;
+    //exactly the players that have the chunk, as the changes are never sent again
+    PlayerManager watchers = ((WorldServer) worldObj).getPlayerManager();
+    PacketTileDelta packet = new PacketTileDelta(this, changed, removed);
+    for (Object obj : worldObj.playerEntities) {
+      EntityPlayerMP player = (EntityPlayerMP) obj;
+      if(watchers.isPlayerWatchingChunk(player, xCoord >> 4, zCoord >> 4)) {
+        PacketHandler.INSTANCE.sendTo(packet, player);
+      }
+    }
+  }
+
+  /**
+   * Merges changes sent by {@link #syncChangesToClients()} into the last
+   * received state and reads the result.
+   */
+  public void applySyncedChanges(NBTTagCompound changed, List<String> removed) {
+    if(lastSyncedTag == null) {
+      lastSyncedTag = new NBTTagCompound();
+      writeCustomNBT(lastSyncedTag);
+    }
+    for (String key : getKeys(changed)) {
+      lastSyncedTag.setTag(key, changed.getTag(key));
+    }
+    for (String key : removed) {
+      lastSyncedTag.removeTag(key);
+    }
+    readCustomNBT(lastSyncedTag);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Set<String> getKeys(NBTTagCompound tag) {
+    return tag.func_150296_c();
   }
 
   protected abstract void writeCustomNBT(NBTTagCompound root);
@@ -446,9 +446,6 @@ public abstract class AbstractConduit implements IConduit {
             bundle.getEntity().getBlockType());
       }
     }
-    if(getNetwork() != null) {
-      getNetwork().onUpdateEntity(this);
-    }
   }
 
   @Override
@@ -481,23 +478,26 @@ public abstract class AbstractConduit implements IConduit {
     TileEntity te = bundle.getEntity();
     World world = te.getWorldObj();
 
+    List<IConduit> neighbours = new ArrayList<IConduit>(conduitConnections.size());
     for (ForgeDirection dir : conduitConnections) {
       IConduit neighbour = ConduitUtil.getConduit(world, te, dir, getBaseConduitType());
       if(neighbour != null) {
         neighbour.conduitConnectionRemoved(dir.getOpposite());
+        neighbours.add(neighbour);
       }
     }
     conduitConnections.clear();
 
+    //the network drops what it holds for the external connections, so they are cleared after
+    AbstractConduitNetwork<?, ?> network = getNetwork();
+    if(network != null) {
+      network.removeConduit(this, neighbours);
+    }
+
     if(!externalConnections.isEmpty()) {
       world.notifyBlocksOfNeighborChange(te.xCoord, te.yCoord, te.zCoord, EnderIO.blockConduitBundle);
     }
     externalConnections.clear();
-
-    AbstractConduitNetwork<?, ?> network = getNetwork();
-    if(network != null) {
-      network.destroyNetwork();
-    }
     connectionsChanged();
   }
 
@@ -1,19 +1,31 @@
 package crazypants.enderio.conduit;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
+import net.minecraftforge.common.util.ForgeDirection;
 
 //I=base type, I is the base class of the implementations accepted by the network 
 public abstract class AbstractConduitNetwork<T extends IConduit, I extends T> {
 
   protected final List<I> conduits = new ArrayList<I>();
 
+  // hashed membership so adding to large networks isn't O(n^2)
+  private final Set<I> conduitSet = new HashSet<I>();
+
   protected Class<I> implClass;
 
+  private ConduitNetworkTickHandler.TickListener registeredTicker;
+
   protected AbstractConduitNetwork(Class<I> implClass) {
     this.implClass = implClass;
   }
@@ -24,49 +36,253 @@ public abstract class AbstractConduitNetwork<T extends IConduit, I extends T> {
       throw new UnsupportedOperationException();
     }
 
-    // Destroy all existing redstone networks around this block
+    // Absorb any existing networks around this block rather than rebuilding them
     for (I con : connections) {
-      AbstractConduitNetwork<?, ?> network = con.getNetwork();
-      if(network != null) {
-        network.destroyNetwork();
-      }
+      mergeNetwork(con.getNetwork());
     }
     setNetwork(world, tile);
     notifyNetworkOfUpdate();
+    startTicking();
   }
 
-  public abstract Class<T> getBaseConduitType();
+  /**
+   * Network types with work to do every tick return the listener for it here.
+   * It is registered with the {@link ConduitNetworkTickHandler} once the
+   * network has been initialised and removed again when it is destroyed, which
+   * also happens when any of its chunks unload.
+   */
+  protected ConduitNetworkTickHandler.TickListener getTickListener() {
+    return null;
+  }
 
-  protected void setNetwork(World world, IConduitBundle tile) {
+  protected void startTicking() {
+    ConduitNetworkTickHandler.TickListener listener = getTickListener();
+    if(registeredTicker == null && listener != null && !conduits.isEmpty()) {
+      ConduitNetworkTickHandler.instance.addTicker(listener);
+      registeredTicker = listener;
+    }
+  }
 
-    T conduit = tile.getConduit(getBaseConduitType());
+  private void stopTicking() {
+    if(registeredTicker != null) {
+      ConduitNetworkTickHandler.instance.removeTicker(registeredTicker);
+      registeredTicker = null;
+    }
+  }
+
+  public abstract Class<T> getBaseConduitType();
 
-    if(conduit != null && implClass.isAssignableFrom(conduit.getClass()) && conduit.setNetwork(this)) {
+  protected void setNetwork(World world, IConduitBundle tile) {
+    // Breadth first rather than recursive so long conduit lines can't overflow
+    // the stack
+    ArrayDeque<IConduitBundle> toVisit = new ArrayDeque<IConduitBundle>();
+    toVisit.add(tile);
+    while (!toVisit.isEmpty()) {
+      IConduitBundle bundle = toVisit.poll();
+      T conduit = bundle.getConduit(getBaseConduitType());
+      if(conduit == null || !implClass.isInstance(conduit) || conduitSet.contains(conduit) || !conduit.setNetwork(this)) {
+        continue;
+      }
       addConduit(implClass.cast(conduit));
-      TileEntity te = tile.getEntity();
-      Collection<T> connections = ConduitUtil.getConnectedConduits(world, te.xCoord, te.yCoord, te.zCoord, getBaseConduitType());
-      for (T con : connections) {
+      TileEntity te = bundle.getEntity();
+      for (ForgeDirection dir : conduit.getConduitConnections()) {
+        T con = ConduitUtil.getConduit(world, te, dir, getBaseConduitType());
+        if(con == null) {
+          continue;
+        }
         if(con.getNetwork() == null) {
-          setNetwork(world, con.getBundle());
+          toVisit.add(con.getBundle());
         } else if(con.getNetwork() != this) {
-          con.getNetwork().destroyNetwork();
-          setNetwork(world, con.getBundle());
+          mergeNetwork(con.getNetwork());
         }
       }
     }
   }
 
   public void addConduit(I con) {
-    if(!conduits.contains(con)) {
+    if(conduitSet.add(con)) {
       conduits.add(con);
     }
   }
 
+  /**
+   * Moves all the conduits of the other network into this one. The other
+   * network is destroyed in the process.
+   */
+  public void mergeNetwork(AbstractConduitNetwork<?, ?> other) {
+    if(other == null || other == this) {
+      return;
+    }
+    if(other.getClass() != getClass()) {
+      other.destroyNetwork();
+      return;
+    }
+    List<IConduit> absorbed = new ArrayList<IConduit>(other.getConduits());
+    other.destroyNetwork();
+    for (IConduit con : absorbed) {
+      if(implClass.isInstance(con) && con.setNetwork(this)) {
+        I c = implClass.cast(con);
+        addConduit(c);
+        notifyConduitOfUpdate(c);
+      }
+    }
+  }
+
+  /**
+   * Removes the conduit from this network. If this splits the network the
+   * smaller pieces are detached and will form their own networks when next
+   * updated.
+   */
+  public void removeConduit(IConduit con, Collection<? extends IConduit> formerNeighbours) {
+    if(!implClass.isInstance(con) || con.getNetwork() != this) {
+      return;
+    }
+    I c = implClass.cast(con);
+    conduits.remove(c);
+    conduitSet.remove(c);
+    conduitRemoved(c);
+    con.setNetwork(null);
+    if(conduits.isEmpty()) {
+      destroyNetwork();
+      return;
+    }
+    splitIfDisconnected(formerNeighbours);
+  }
+
+  /**
+   * Called after the connection between two conduits of this network has been
+   * removed.
+   */
+  public void connectionRemoved(IConduit con, IConduit neighbour) {
+    List<IConduit> ends = new ArrayList<IConduit>(2);
+    ends.add(con);
+    ends.add(neighbour);
+    splitIfDisconnected(ends);
+  }
+
+  /**
+   * Called when a conduit leaves the network without the network being
+   * destroyed. Sub classes should drop any state held for the conduit.
+   */
+  protected void conduitRemoved(I con) {
+  }
+
+  /**
+   * Runs a breadth first search from each of the starting points in lock step.
+   * Searches that meet are joined, and a search that runs out of conduits
+   * before meeting all the others has found a piece of the network that is no
+   * longer connected to the rest, which is then detached. Only the pieces cut
+   * off are walked in full.
+   */
+  protected void splitIfDisconnected(Collection<? extends IConduit> startingPoints) {
+    List<I> starts = new ArrayList<I>();
+    for (IConduit con : startingPoints) {
+      if(con != null && con.getNetwork() == this && implClass.isInstance(con) && !starts.contains(con)) {
+        starts.add(implClass.cast(con));
+      }
+    }
+    int numSearches = starts.size();
+    if(numSearches < 2) {
+      return;
+    }
+
+    Map<I, Integer> owner = new HashMap<I, Integer>();
+    List<ArrayDeque<I>> queues = new ArrayList<ArrayDeque<I>>(numSearches);
+    int[] group = new int[numSearches];
+    boolean[] detached = new boolean[numSearches];
+    for (int i = 0; i < numSearches; i++) {
+      I start = starts.get(i);
+      owner.put(start, i);
+      ArrayDeque<I> queue = new ArrayDeque<I>();
+      queue.add(start);
+      queues.add(queue);
+      group[i] = i;
+    }
+
+    int liveGroups = numSearches;
+    while (liveGroups > 1) {
+      for (int i = 0; i < numSearches && liveGroups > 1; i++) {
+        I con = queues.get(i).poll();
+        if(con == null) {
+          continue;
+        }
+        for (I neighbour : getConnectedMembers(con)) {
+          Integer o = owner.get(neighbour);
+          if(o == null) {
+            owner.put(neighbour, i);
+            queues.get(i).add(neighbour);
+          } else if(group[o] != group[i]) {
+            int from = group[o];
+            int to = group[i];
+            for (int j = 0; j < numSearches; j++) {
+              if(group[j] == from) {
+                group[j] = to;
+              }
+            }
+            liveGroups--;
+          }
+        }
+      }
+      for (int i = 0; i < numSearches && liveGroups > 1; i++) {
+        int g = group[i];
+        if(detached[g] || !isGroupExhausted(g, group, queues)) {
+          continue;
+        }
+        detached[g] = true;
+        liveGroups--;
+        Set<I> piece = new HashSet<I>();
+        for (Map.Entry<I, Integer> e : owner.entrySet()) {
+          if(group[e.getValue()] == g) {
+            piece.add(e.getKey());
+          }
+        }
+        detachConduits(piece);
+      }
+    }
+  }
+
+  private boolean isGroupExhausted(int g, int[] group, List<ArrayDeque<I>> queues) {
+    for (int i = 0; i < group.length; i++) {
+      if(group[i] == g && !queues.get(i).isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void detachConduits(Set<I> piece) {
+    conduits.removeAll(piece);
+    conduitSet.removeAll(piece);
+    for (I con : piece) {
+      conduitRemoved(con);
+      con.setNetwork(null);
+    }
+  }
+
+  protected List<I> getConnectedMembers(I con) {
+    IConduitBundle bundle = con.getBundle();
+    if(bundle == null) {
+      return Collections.emptyList();
+    }
+    World world = bundle.getWorld();
+    TileEntity te = bundle.getEntity();
+    List<I> result = new ArrayList<I>(6);
+    for (ForgeDirection dir : con.getConduitConnections()) {
+      T neighbour = ConduitUtil.getConduit(world, te, dir, getBaseConduitType());
+      if(neighbour != null && neighbour.getNetwork() == this && implClass.isInstance(neighbour)) {
+        result.add(implClass.cast(neighbour));
+      }
+    }
+    return result;
+  }
+
   public void destroyNetwork() {
+    stopTicking();
     for (I con : conduits) {
       con.setNetwork(null);
     }
     conduits.clear();
+    conduitSet.clear();
   }
 
   public List<I> getConduits() {
@@ -80,6 +296,11 @@ public abstract class AbstractConduitNetwork<T extends IConduit, I extends T> {
     }
   }
 
+  public void notifyConduitOfUpdate(I con) {
+    TileEntity te = con.getBundle().getEntity();
+    te.getWorldObj().markBlockForUpdate(te.xCoord, te.yCoord, te.zCoord);
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
@@ -90,7 +311,4 @@ public abstract class AbstractConduitNetwork<T extends IConduit, I extends T> {
     return "AbstractConduitNetwork [conduits=" + sb.toString() + "]";
   }
 
-  public void onUpdateEntity(IConduit conduit) {
-  }
-
 }
@@ -1,11 +1,16 @@
 package crazypants.enderio.conduit;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import cpw.mods.fml.common.gameevent.TickEvent;
 import cpw.mods.fml.common.gameevent.TickEvent.Phase;
+import crazypants.enderio.config.Config;
 
 public class ConduitNetworkTickHandler {
 
@@ -17,14 +22,60 @@ public class ConduitNetworkTickHandler {
     public void tickEnd(TickEvent.ServerTickEvent evt);
   }
 
+  //run at the end of this tick only
   private final List<TickListener> listeners = new ArrayList<TickListener>();
 
+  //run at the end of every tick until removed
+  private final Set<TickListener> tickers = new LinkedHashSet<TickListener>();
+
+  //listeners that did not fit in the time budget last tick, these run first
+  private final List<TickListener> deferred = new ArrayList<TickListener>();
+
+  private final List<TickListener> running = new ArrayList<TickListener>();
+  private final Set<TickListener> scheduled = Collections.newSetFromMap(new IdentityHashMap<TickListener, Boolean>());
+
+  private final NetworkTickProfiler profiler = new NetworkTickProfiler();
+
   public void addListener(TickListener listener) {
     listeners.add(listener);
   }
 
   public void removeListener(TickListener listener) {
     listeners.remove(listener);
+    deferred.remove(listener);
+    scheduled.remove(listener);
+  }
+
+  /**
+   * Registers a listener that is called every tick until it is removed with
+   * {@link #removeTicker(TickListener)}. Networks use this for as long as they
+   * have any conduits loaded.
+   */
+  public void addTicker(TickListener ticker) {
+    tickers.add(ticker);
+  }
+
+  public void removeTicker(TickListener ticker) {
+    tickers.remove(ticker);
+    deferred.remove(ticker);
+    scheduled.remove(ticker);
+    profiler.remove(ticker);
+  }
+
+  /**
+   * Drops all listeners, used when the server stops so no network outlives its
+   * world.
+   */
+  public void clear() {
+    listeners.clear();
+    tickers.clear();
+    deferred.clear();
+    running.clear();
+    scheduled.clear();
+  }
+
+  public NetworkTickProfiler getProfiler() {
+    return profiler;
   }
 
   @SubscribeEvent
@@ -37,16 +88,68 @@ public class ConduitNetworkTickHandler {
   }
 
   public void tickStart(TickEvent.ServerTickEvent event) {
+    for (TickListener h : tickers) {
+      h.tickStart(event);
+    }
     for (TickListener h : listeners) {
       h.tickStart(event);
     }
   }
 
   public void tickEnd(TickEvent.ServerTickEvent event) {
+    running.clear();
+    scheduled.clear();
+    for (TickListener h : deferred) {
+      if(scheduled.add(h)) {
+        running.add(h);
+      }
+    }
+    deferred.clear();
+    for (TickListener h : tickers) {
+      if(scheduled.add(h)) {
+        running.add(h);
+      }
+    }
     for (TickListener h : listeners) {
-      h.tickEnd(event);
+      if(scheduled.add(h)) {
+        running.add(h);
+      }
     }
     listeners.clear();
+
+    long budget = Config.conduitNetworkTickBudgetMicros * 1000L;
+    boolean profiling = profiler.isEnabled();
+    boolean timed = profiling || budget > 0;
+    long start = timed ? System.nanoTime() : 0;
+    for (int i = 0; i < running.size(); i++) {
+      TickListener h = running.get(i);
+      if(!scheduled.contains(h)) {
+        //removed by a network ticked earlier in this loop
+        continue;
+      }
+      if(budget > 0 && i > 0 && System.nanoTime() - start >= budget) {
+        for (int j = i; j < running.size(); j++) {
+          if(scheduled.contains(running.get(j))) {
+            deferred.add(running.get(j));
+          }
+        }
+        if(profiling) {
+          profiler.deferred(deferred.size());
+        }
+        break;
+      }
+      if(profiling) {
+        long before = System.nanoTime();
+        h.tickEnd(event);
+        profiler.record(h, System.nanoTime() - before);
+      } else {
+        h.tickEnd(event);
+      }
+    }
+    if(profiling) {
+      profiler.tickCompleted(System.nanoTime() - start);
+    }
+    running.clear();
   }
 
 }
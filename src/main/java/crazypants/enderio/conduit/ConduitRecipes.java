@@ -10,6 +10,7 @@ import appeng.api.AEApi;
 import cpw.mods.fml.common.Optional.Method;
 import cpw.mods.fml.common.registry.GameRegistry;
 import crazypants.enderio.EnderIO;
+import crazypants.enderio.conduit.item.ItemExtractSpeedUpgrade;
 import crazypants.enderio.conduit.item.filter.ClearFilterRecipe;
 import crazypants.enderio.conduit.item.filter.CopyFilterRecipe;
 import crazypants.enderio.conduit.me.MEUtil;
@@ -88,6 +89,9 @@ public class ConduitRecipes {
 
     ItemStack speedUpgrade = new ItemStack(EnderIO.itemExtractSpeedUpgrade, 1, 0);
     GameRegistry.addShapedRecipe(speedUpgrade, "iii","epe","ere", 'p', Blocks.piston, 'e', electricalSteel, 'r', Blocks.redstone_torch, 'i', Items.iron_ingot);
+
+    ItemStack bulkUpgrade = new ItemStack(EnderIO.itemExtractSpeedUpgrade, 1, ItemExtractSpeedUpgrade.META_BULK);
+    GameRegistry.addShapedRecipe(bulkUpgrade, "ese","shs","ese", 's', speedUpgrade, 'h', Blocks.hopper, 'e', electricalSteel);
     
     if (MEUtil.isMEEnabled()) {
       addAeRecipes();
@@ -92,23 +92,30 @@ public class ConduitUtil {
 
   @SuppressWarnings({ "unchecked", "rawtypes" })
   private static boolean reuseNetwork(IConduit con, Collection<? extends IConduit> connections, World world) {
+    // Join the largest neighbouring network and fold any others into it
     AbstractConduitNetwork network = null;
     for (IConduit conduit : connections) {
-      if(network == null) {
-        network = conduit.getNetwork();
-      } else if(network != conduit.getNetwork()) {
-        return false;
+      AbstractConduitNetwork candidate = conduit.getNetwork();
+      if(candidate != null && (network == null || candidate.getConduits().size() > network.getConduits().size())) {
+        network = candidate;
       }
     }
     if(network == null) {
       return false;
     }
-    if(con.setNetwork(network)) {
-      network.addConduit(con);
-      network.notifyNetworkOfUpdate();
-      return true;
+    if(!con.setNetwork(network)) {
+      return false;
     }
-    return false;
+    network.addConduit(con);
+    network.notifyConduitOfUpdate(con);
+    for (IConduit conduit : connections) {
+      if(conduit.getNetwork() == null) {
+        network.setNetwork(world, conduit.getBundle());
+      } else if(conduit.getNetwork() != network) {
+        network.mergeNetwork(conduit.getNetwork());
+      }
+    }
+    return true;
   }
 
   public static <T extends IConduit> void disconectConduits(T con, ForgeDirection connDir) {
@@ -117,6 +124,10 @@ public class ConduitUtil {
     IConduit neighbour = ConduitUtil.getConduit(con.getBundle().getEntity().getWorldObj(), loc.x, loc.y, loc.z, con.getBaseConduitType());
     if(neighbour != null) {
       neighbour.conduitConnectionRemoved(connDir.getOpposite());
+      if(neighbour.getNetwork() != null && neighbour.getNetwork() == con.getNetwork()) {
+        neighbour.getNetwork().connectionRemoved(con, neighbour);
+        return;
+      }
       if(neighbour.getNetwork() != null) {
         neighbour.getNetwork().destroyNetwork();
       }
@@ -132,11 +143,14 @@ public class ConduitUtil {
     if(neighbour != null && con.canConnectToConduit(faceHit, neighbour) && neighbour.canConnectToConduit(faceHit.getOpposite(), con)) {
       con.conduitConnectionAdded(faceHit);
       neighbour.conduitConnectionAdded(faceHit.getOpposite());
-      if(con.getNetwork() != null) {
-        con.getNetwork().destroyNetwork();
-      }
-      if(neighbour.getNetwork() != null) {
-        neighbour.getNetwork().destroyNetwork();
+      AbstractConduitNetwork<?, ?> conNetwork = con.getNetwork();
+      AbstractConduitNetwork<?, ?> neighbourNetwork = neighbour.getNetwork();
+      if(conNetwork != null && neighbourNetwork != null && conNetwork != neighbourNetwork) {
+        if(conNetwork.getConduits().size() >= neighbourNetwork.getConduits().size()) {
+          conNetwork.mergeNetwork(neighbourNetwork);
+        } else {
+          neighbourNetwork.mergeNetwork(conNetwork);
+        }
       }
       return true;
     }
@@ -0,0 +1,69 @@
+package crazypants.enderio.conduit;
+
+import java.util.List;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.util.ChatComponentText;
+
+/**
+ * Server command to start, stop, reset and print the
+ * {@link NetworkTickProfiler}.
+ */
+public class NetworkProfileCommand extends CommandBase {
+
+  private static final String[] ACTIONS = { "start", "stop", "reset", "report" };
+
+  private static final int MAX_NETWORKS_REPORTED = 10;
+
+  @Override
+  public String getCommandName() {
+    return "eionetprofile";
+  }
+
+  @Override
+  public String getCommandUsage(ICommandSender sender) {
+    return "/eionetprofile <start|stop|reset|report>";
+  }
+
+  @Override
+  public int getRequiredPermissionLevel() {
+    return 2;
+  }
+
+  @Override
+  public void processCommand(ICommandSender sender, String[] args) {
+    if(args.length != 1) {
+      throw new WrongUsageException(getCommandUsage(sender));
+    }
+    NetworkTickProfiler profiler = ConduitNetworkTickHandler.instance.getProfiler();
+    String action = args[0];
+    if("start".equals(action)) {
+      profiler.setEnabled(true);
+      sender.addChatMessage(new ChatComponentText("Network profiling started"));
+    } else if("stop".equals(action)) {
+      profiler.setEnabled(false);
+      sender.addChatMessage(new ChatComponentText("Network profiling stopped"));
+    } else if("reset".equals(action)) {
+      profiler.reset();
+      sender.addChatMessage(new ChatComponentText("Network profile cleared"));
+    } else if("report".equals(action)) {
+      for (String line : profiler.getReport(MAX_NETWORKS_REPORTED)) {
+        sender.addChatMessage(new ChatComponentText(line));
+      }
+    } else {
+      throw new WrongUsageException(getCommandUsage(sender));
+    }
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public List addTabCompletionOptions(ICommandSender sender, String[] args) {
+    if(args.length == 1) {
+      return getListOfStringsMatchingLastWord(args, ACTIONS);
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,147 @@
+package crazypants.enderio.conduit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
+
+/**
+ * Collects the time spent in, and number of runs of, each network ticked by
+ * the {@link ConduitNetworkTickHandler}. Totals are kept per network type
+ * (the class that owns the tick listener) and per network, identified by its
+ * listener. Disabled unless started through {@link NetworkProfileCommand}.
+ */
+public class NetworkTickProfiler {
+
+  private static final Comparator<Entry> BY_TIME = new Comparator<Entry>() {
+    @Override
+    public int compare(Entry o1, Entry o2) {
+      return o1.nanos < o2.nanos ? 1 : (o1.nanos == o2.nanos ? 0 : -1);
+    }
+  };
+
+  private boolean enabled = false;
+
+  private final Map<String, Entry> byType = new HashMap<String, Entry>();
+  //weak so networks that only ever schedule one shot listeners are not kept alive
+  private final Map<TickListener, Entry> byNetwork = new WeakHashMap<TickListener, Entry>();
+
+  private long ticks;
+  private long totalNanos;
+  private long maxTickNanos;
+  private long deferrals;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public void reset() {
+    byType.clear();
+    byNetwork.clear();
+    ticks = 0;
+    totalNanos = 0;
+    maxTickNanos = 0;
+    deferrals = 0;
+  }
+
+  void record(TickListener listener, long nanos) {
+    Entry network = byNetwork.get(listener);
+    if(network == null) {
+      String type = getTypeName(listener);
+      network = new Entry(type + "@" + Integer.toHexString(System.identityHashCode(listener)));
+      byNetwork.put(listener, network);
+    }
+    network.add(nanos);
+
+    String type = getTypeName(listener);
+    Entry typeEntry = byType.get(type);
+    if(typeEntry == null) {
+      typeEntry = new Entry(type);
+      byType.put(type, typeEntry);
+    }
+    typeEntry.add(nanos);
+  }
+
+  void remove(TickListener listener) {
+    byNetwork.remove(listener);
+  }
+
+  void deferred(int count) {
+    deferrals += count;
+  }
+
+  void tickCompleted(long nanos) {
+    ticks++;
+    totalNanos += nanos;
+    maxTickNanos = Math.max(maxTickNanos, nanos);
+  }
+
+  /**
+   * Returns a human readable summary: the overall figures, every network type
+   * and the most expensive maxNetworks networks.
+   */
+  public List<String> getReport(int maxNetworks) {
+    List<String> res = new ArrayList<String>();
+    if(ticks == 0) {
+      res.add("No network ticks recorded" + (enabled ? " yet" : ", profiling is stopped"));
+      return res;
+    }
+    res.add(String.format("%d ticks, avg %.3f ms/tick, max %.3f ms, %d deferred network runs", ticks, toMillis(totalNanos) / ticks,
+        toMillis(maxTickNanos), deferrals));
+
+    List<Entry> types = new ArrayList<Entry>(byType.values());
+    Collections.sort(types, BY_TIME);
+    for (Entry e : types) {
+      res.add(format(e));
+    }
+
+    List<Entry> networks = new ArrayList<Entry>(byNetwork.values());
+    Collections.sort(networks, BY_TIME);
+    for (int i = 0; i < networks.size() && i < maxNetworks; i++) {
+      res.add("  " + format(networks.get(i)));
+    }
+    return res;
+  }
+
+  private String format(Entry e) {
+    return String.format("%s: %.3f ms/tick, %d runs, %.1f us/run", e.name, toMillis(e.nanos) / ticks, e.runs, e.nanos / 1000.0 / e.runs);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1000000.0;
+  }
+
+  private static String getTypeName(TickListener listener) {
+    Class<?> cl = listener.getClass();
+    while (cl.getEnclosingClass() != null) {
+      cl = cl.getEnclosingClass();
+    }
+    return cl.getSimpleName();
+  }
+
+  private static class Entry {
+
+    final String name;
+    long nanos;
+    long runs;
+
+    Entry(String name) {
+      this.name = name;
+    }
+
+    void add(long time) {
+      nanos += time;
+      runs++;
+    }
+  }
+
+}
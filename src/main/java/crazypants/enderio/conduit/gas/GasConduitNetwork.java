@@ -10,7 +10,6 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
-import crazypants.enderio.conduit.ConduitNetworkTickHandler;
 import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
 import crazypants.enderio.conduit.IConduit;
 import crazypants.util.BlockCoord;
@@ -29,8 +28,6 @@ public class GasConduitNetwork extends AbstractGasTankConduitNetwork<GasConduit>
 
   private int lastSyncedVolume = -1;
 
-  private long timeAtLastApply;
-
   private final InnerTickHandler tickHandler = new InnerTickHandler();
 
   public GasConduitNetwork() {
@@ -57,6 +54,28 @@ public class GasConduitNetwork extends AbstractGasTankConduitNetwork<GasConduit>
     super.addConduit(con);
   }
 
+  @Override
+  protected void conduitRemoved(GasConduit con) {
+    // the conduit leaves with its share of the network's gas
+    int share = 0;
+    if(tank.getMaxGas() > 0) {
+      share = (int) ((long) tank.getStored() * GasConduit.CONDUIT_VOLUME / tank.getMaxGas());
+    }
+    if(tank.containsValidGas() && share > 0) {
+      GasStack g = tank.getGas().copy();
+      g.amount = share;
+      con.getTank().setGas(g);
+      tank.addAmount(-share);
+    } else {
+      con.getTank().setGas(null);
+    }
+    tank.setCapacity(Math.max(0, tank.getMaxGas() - GasConduit.CONDUIT_VOLUME));
+    for (ForgeDirection dir : con.getExternalConnections()) {
+      outputs.remove(new GasOutput(con.getLocation().getLocation(dir), dir.getOpposite()));
+    }
+    outputIterator = null;
+  }
+
   @Override
   public boolean setGasType(GasStack newType) {
     if(super.setGasType(newType)) {
@@ -97,21 +116,8 @@ public class GasConduitNetwork extends AbstractGasTankConduitNetwork<GasConduit>
   }
 
   @Override
-  public void onUpdateEntity(IConduit conduit) {
-    World world = conduit.getBundle().getEntity().getWorldObj();
-    if(world == null) {
-      return;
-    }
-    if(world.isRemote) {
-      return;
-    }
-
-    long curTime = world.getTotalWorldTime();
-    if(curTime > 0 && curTime != timeAtLastApply) {
-      timeAtLastApply = curTime;
-      ConduitNetworkTickHandler.instance.addListener(tickHandler);
-    }
-
+  protected TickListener getTickListener() {
+    return tickHandler;
   }
 
   private void doTick() {
@@ -28,6 +28,8 @@ public interface IItemConduit extends IConduit, IItemDuct, IExtractor {
 
   float getTickTimePerItem(ForgeDirection direction);
 
+  boolean isBulkExtractionEnabled(ForgeDirection direction);
+
   void itemsExtracted(int numInserted, int slot);
   
   void setInputFilterUpgrade(ForgeDirection dir, ItemStack stack);
@@ -16,6 +16,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.IIcon;
+import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 import crazypants.enderio.EnderIO;
@@ -405,6 +406,9 @@ public class ItemConduit extends AbstractConduit implements IItemConduit {
   @Override
   public int getMaximumExtracted(ForgeDirection dir) {
     int numUpgrades = getNumSpeedUpgrades(dir);
+    if(isBulkExtractionEnabled(dir)) {
+      return 64 * numUpgrades;
+    }
     //int res = (int)Math.pow(4, numUpgrades);
     int res = 4 + (numUpgrades * 4);
     return res;
@@ -418,6 +422,11 @@ public class ItemConduit extends AbstractConduit implements IItemConduit {
 
   }
 
+  @Override
+  public boolean isBulkExtractionEnabled(ForgeDirection dir) {
+    return ItemExtractSpeedUpgrade.isBulkUpgrade(speedUpgrades.get(dir));
+  }
+
   private int getNumSpeedUpgrades(ForgeDirection dir) {
     ItemStack stack = speedUpgrades.get(dir);
     if(stack == null) {
@@ -430,6 +439,30 @@ public class ItemConduit extends AbstractConduit implements IItemConduit {
   public void itemsExtracted(int numExtracted, int slot) {
   }
 
+  @Override
+  public boolean onNeighborChange(IBlockAccess world, int x, int y, int z, int tileX, int tileY, int tileZ) {
+    if(network != null) {
+      network.inventoryChanged(this, tileX, tileY, tileZ);
+    }
+    return super.onNeighborChange(world, x, y, z, tileX, tileY, tileZ);
+  }
+
+  @Override
+  public void conduitConnectionAdded(ForgeDirection fromDirection) {
+    super.conduitConnectionAdded(fromDirection);
+    if(network != null) {
+      network.connectionsChanged();
+    }
+  }
+
+  @Override
+  public void conduitConnectionRemoved(ForgeDirection fromDirection) {
+    super.conduitConnectionRemoved(fromDirection);
+    if(network != null) {
+      network.connectionsChanged();
+    }
+  }
+
   @Override
   public void externalConnectionAdded(ForgeDirection direction) {
     super.externalConnectionAdded(direction);
@@ -2,6 +2,7 @@ package crazypants.enderio.conduit.item;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -12,9 +13,7 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
 import crazypants.enderio.conduit.AbstractConduitNetwork;
-import crazypants.enderio.conduit.ConduitNetworkTickHandler;
 import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
-import crazypants.enderio.conduit.IConduit;
 import crazypants.enderio.conduit.item.NetworkedInventory.Target;
 import crazypants.enderio.conduit.item.filter.IItemFilter;
 import crazypants.util.BlockCoord;
@@ -22,19 +21,21 @@ import crazypants.util.Lang;
 
 public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IItemConduit> {
 
-  private long timeAtLastApply;
-
   final List<NetworkedInventory> inventories = new ArrayList<NetworkedInventory>();
   private final Map<BlockCoord, List<NetworkedInventory>> invMap = new HashMap<BlockCoord, List<NetworkedInventory>>();
 
   final Map<BlockCoord, IItemConduit> conMap = new HashMap<BlockCoord, IItemConduit>();
 
-  private boolean requiresSort = true;
+  final ItemRoutingTable routingTable = new ItemRoutingTable(this);
 
   private boolean doingSend = false;
 
   private final InnerTickHandler tickHandler = new InnerTickHandler();
 
+  private long extractionScansPerformed;
+
+  private long extractionScansSkipped;
+
   public ItemConduitNetwork() {
     super(IItemConduit.class);
   }
@@ -48,6 +49,7 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
   public void addConduit(IItemConduit con) {
     super.addConduit(con);
     conMap.put(con.getLocation(), con);
+    routingTable.connectionsChanged();
 
     TileEntity te = con.getBundle().getEntity();
     if(te != null) {
@@ -60,12 +62,34 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
     }
   }
 
+  @Override
+  protected void conduitRemoved(IItemConduit con) {
+    conMap.remove(con.getLocation());
+    Iterator<NetworkedInventory> it = inventories.iterator();
+    while (it.hasNext()) {
+      NetworkedInventory inv = it.next();
+      if(inv.con == con) {
+        it.remove();
+        List<NetworkedInventory> invs = invMap.get(inv.location);
+        if(invs != null) {
+          invs.remove(inv);
+        }
+        routingTable.inventoryRemoved(inv);
+      }
+    }
+    routingTable.connectionsChanged();
+  }
+
+  public void connectionsChanged() {
+    routingTable.connectionsChanged();
+  }
+
   public void inventoryAdded(IItemConduit itemConduit, ForgeDirection direction, int x, int y, int z, IInventory externalInventory) {
     BlockCoord bc = new BlockCoord(x, y, z);
     NetworkedInventory inv = new NetworkedInventory(this, externalInventory, itemConduit, direction, bc);
     inventories.add(inv);
     getOrCreate(bc).add(inv);
-    requiresSort = true;
+    routingTable.inventoryAdded(inv);
   }
   
   public NetworkedInventory getInventory(IItemConduit conduit, ForgeDirection dir) {
@@ -99,13 +123,41 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
     if(remove != null) {
       invs.remove(remove);
       inventories.remove(remove);
-      requiresSort = true;
+      routingTable.inventoryRemoved(remove);
+    }
+
+  }
+
+  public void inventoryChanged(IItemConduit itemConduit, int x, int y, int z) {
+    List<NetworkedInventory> invs = invMap.get(new BlockCoord(x, y, z));
+    if(invs == null) {
+      return;
+    }
+    for (NetworkedInventory inv : invs) {
+      if(inv.con == itemConduit) {
+        inv.inventoryChanged();
+      }
     }
+  }
+
+  void extractionScanPerformed() {
+    extractionScansPerformed++;
+  }
+
+  void extractionScanSkipped() {
+    extractionScansSkipped++;
+  }
 
+  public long getExtractionScansPerformed() {
+    return extractionScansPerformed;
+  }
+
+  public long getExtractionScansSkipped() {
+    return extractionScansSkipped;
   }
 
   public void routesChanged() {
-    requiresSort = true;
+    routingTable.routesChanged();
   }
 
   public ItemStack sendItems(ItemConduit itemConduit, ItemStack item, ForgeDirection side) {
@@ -183,32 +235,23 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
   }
 
   @Override
-  public void onUpdateEntity(IConduit conduit) {
-    World world = conduit.getBundle().getEntity().getWorldObj();
-    if(world == null) {
+  protected TickListener getTickListener() {
+    return tickHandler;
+  }
+
+  private void doTick() {
+    if(conduits.isEmpty()) {
       return;
     }
-    if(world.isRemote) {
+    World world = conduits.get(0).getBundle().getWorld();
+    if(world == null) {
       return;
     }
-    long curTime = world.getTotalWorldTime();
-    if(curTime != timeAtLastApply) {
-      timeAtLastApply = curTime;
-      tickHandler.tick = world.getTotalWorldTime();
-      ConduitNetworkTickHandler.instance.addListener(tickHandler);
-    }
-  }
-
-  private void doTick(long tick) {
-
+    long tick = world.getTotalWorldTime();
+    routingTable.update();
     for (NetworkedInventory ni : inventories) {
-      if(requiresSort) {
-        ni.updateInsertOrder();
-      }
       ni.onTick(tick);
     }
-    requiresSort = false;
-
   }
 
   static int compare(int x, int y) {
@@ -219,15 +262,13 @@ public class ItemConduitNetwork extends AbstractConduitNetwork<IItemConduit, IIt
 
   private class InnerTickHandler implements TickListener {
 
-    long tick;
-
     @Override
     public void tickStart(ServerTickEvent evt) {
     }
 
     @Override
     public void tickEnd(ServerTickEvent evt) {
-      doTick(tick);
+      doTick();
     }
   }
 
@@ -0,0 +1,77 @@
+package crazypants.enderio.conduit.item;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import crazypants.enderio.conduit.item.NetworkedInventory.Target;
+import crazypants.enderio.conduit.item.filter.IItemFilter;
+import crazypants.enderio.conduit.item.filter.ItemFilter;
+import crazypants.enderio.conduit.item.filter.ModItemFilter;
+import crazypants.util.RoundRobinIterator;
+
+/**
+ * Caches, per source inventory and item/damage, the part of the send order
+ * whose output filters could accept the item. Filters that only look at the
+ * item and damage (and so its ore dictionary entries) are evaluated once when
+ * the entry is built; targets with filters that depend on anything else are
+ * always kept. Stacks with NBT are not indexed. Cleared whenever the send
+ * orders or filters change.
+ */
+class ItemDestinationIndex {
+
+  private static final int MAX_KEYS_PER_SOURCE = 256;
+
+  private final Map<NetworkedInventory, Map<Long, Destinations>> index = new HashMap<NetworkedInventory, Map<Long, Destinations>>();
+
+  void invalidate() {
+    index.clear();
+  }
+
+  Iterable<Target> getTargets(NetworkedInventory source, ItemStack item, boolean roundRobin) {
+    if(item == null || item.getItem() == null || item.stackTagCompound != null) {
+      return null;
+    }
+    Map<Long, Destinations> forSource = index.get(source);
+    if(forSource == null) {
+      forSource = new HashMap<Long, Destinations>();
+      index.put(source, forSource);
+    }
+    Long key = ((long) Item.getIdFromItem(item.getItem()) << 32) | (item.getItemDamage() & 0xFFFFFFFFL);
+    Destinations res = forSource.get(key);
+    if(res == null) {
+      if(forSource.size() >= MAX_KEYS_PER_SOURCE) {
+        forSource.clear();
+      }
+      res = new Destinations(source, item);
+      forSource.put(key, res);
+    }
+    return roundRobin ? res.rrIter : res.targets;
+  }
+
+  private static boolean canNeverAccept(Target target, NetworkedInventory source, ItemStack item) {
+    IItemFilter filter = target.inv.con.getOutputFilter(target.inv.conDir);
+    if(filter instanceof ItemFilter || filter instanceof ModItemFilter) {
+      return !filter.doesItemPassFilter(source, item);
+    }
+    return false;
+  }
+
+  private static class Destinations {
+
+    final List<Target> targets = new ArrayList<Target>();
+    final RoundRobinIterator<Target> rrIter = new RoundRobinIterator<Target>(targets);
+
+    Destinations(NetworkedInventory source, ItemStack item) {
+      for (Target target : source.sendPriority) {
+        if(!canNeverAccept(target, source, item)) {
+          targets.add(target);
+        }
+      }
+    }
+  }
+
+}
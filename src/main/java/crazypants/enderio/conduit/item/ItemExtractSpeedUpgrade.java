@@ -1,6 +1,9 @@
 package crazypants.enderio.conduit.item;
 
+import java.util.List;
+
 import net.minecraft.client.renderer.texture.IIconRegister;
+import net.minecraft.creativetab.CreativeTabs;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import cpw.mods.fml.common.registry.GameRegistry;
@@ -11,6 +14,9 @@ import crazypants.enderio.ModObject;
 import crazypants.enderio.gui.IResourceTooltipProvider;
 
 public class ItemExtractSpeedUpgrade extends Item implements IResourceTooltipProvider {
+
+  public static final int META_SPEED = 0;
+  public static final int META_BULK = 1;
   
   public static ItemExtractSpeedUpgrade create() {    
     ItemExtractSpeedUpgrade result = new ItemExtractSpeedUpgrade();
@@ -18,9 +24,15 @@ public class ItemExtractSpeedUpgrade extends Item implements IResourceTooltipPro
     return result;
   }
 
+  public static boolean isBulkUpgrade(ItemStack stack) {
+    return stack != null && stack.getItem() instanceof ItemExtractSpeedUpgrade && stack.getItemDamage() == META_BULK;
+  }
+
   protected ItemExtractSpeedUpgrade() {
     setCreativeTab(EnderIOTab.tabEnderIO);
     setUnlocalizedName(ModObject.itemExtractSpeedUpgrade.unlocalisedName);
+    setHasSubtypes(true);
+    setMaxDamage(0);
     setMaxStackSize(64);
   }
   
@@ -35,8 +47,23 @@ public class ItemExtractSpeedUpgrade extends Item implements IResourceTooltipPro
   }
 
   @Override
-  public String getUnlocalizedNameForTooltip(ItemStack itemStack) {
+  public String getUnlocalizedName(ItemStack stack) {
+    if(isBulkUpgrade(stack)) {
+      return getUnlocalizedName() + ".bulk";
+    }
     return getUnlocalizedName();
   }
+
+  @Override
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public void getSubItems(Item item, CreativeTabs tab, List list) {
+    list.add(new ItemStack(this, 1, META_SPEED));
+    list.add(new ItemStack(this, 1, META_BULK));
+  }
+
+  @Override
+  public String getUnlocalizedNameForTooltip(ItemStack itemStack) {
+    return getUnlocalizedName(itemStack);
+  }
   
 }
@@ -0,0 +1,231 @@
+package crazypants.enderio.conduit.item;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.common.util.ForgeDirection;
+import crazypants.enderio.conduit.item.NetworkedInventory.Target;
+import crazypants.enderio.config.Config;
+import crazypants.util.DyeColor;
+
+/**
+ * Send order for all the inventories of an item conduit network. Hop distances
+ * are found with one breadth first search per conduit that has an inventory
+ * attached and, as conduit connections always go both ways, are shared by both
+ * ends. Targets are grouped by output color so a source only looks at the
+ * channel it extracts on. Inventories coming and going are patched into the
+ * existing send orders; only a change to the conduits themselves requires the
+ * distances to be recalculated. The send orders are further narrowed per item
+ * by {@link ItemDestinationIndex}.
+ */
+class ItemRoutingTable {
+
+  private static final int UNREACHABLE = 9999999;
+
+  private final ItemConduitNetwork network;
+
+  private final Map<IItemConduit, Map<IItemConduit, Integer>> distances = new HashMap<IItemConduit, Map<IItemConduit, Integer>>();
+
+  private final Map<DyeColor, List<NetworkedInventory>> targetsByColor = new EnumMap<DyeColor, List<NetworkedInventory>>(DyeColor.class);
+
+  private final ItemDestinationIndex destinations = new ItemDestinationIndex();
+
+  private boolean distancesDirty = true;
+
+  private boolean ordersDirty = true;
+
+  ItemRoutingTable(ItemConduitNetwork network) {
+    this.network = network;
+  }
+
+  void connectionsChanged() {
+    distancesDirty = true;
+  }
+
+  void routesChanged() {
+    ordersDirty = true;
+    destinations.invalidate();
+  }
+
+  Iterable<Target> getDestinations(NetworkedInventory source, ItemStack item, boolean roundRobin) {
+    if(distancesDirty || ordersDirty) {
+      return null;
+    }
+    return destinations.getTargets(source, item, roundRobin);
+  }
+
+  void inventoryAdded(NetworkedInventory inv) {
+    destinations.invalidate();
+    if(distancesDirty || ordersDirty) {
+      // everything is rebuilt before the next use anyway
+      ordersDirty = true;
+      return;
+    }
+    if(!Config.itemConduitUsePhyscialDistance) {
+      calculateDistances(inv.con);
+    }
+    if(inv.canInsert()) {
+      getTargets(inv.con.getOutputColor(inv.conDir)).add(inv);
+      for (NetworkedInventory source : network.inventories) {
+        if(source != inv && accepts(source, inv)) {
+          insertSorted(source.sendPriority, createTarget(source, inv));
+        }
+      }
+    }
+    buildSendPriority(inv);
+  }
+
+  void inventoryRemoved(NetworkedInventory inv) {
+    destinations.invalidate();
+    for (NetworkedInventory source : network.inventories) {
+      removeTarget(source.sendPriority, inv);
+    }
+    for (List<NetworkedInventory> targets : targetsByColor.values()) {
+      targets.remove(inv);
+    }
+    inv.sendPriority.clear();
+  }
+
+  void update() {
+    if(distancesDirty) {
+      distances.clear();
+      if(!Config.itemConduitUsePhyscialDistance) {
+        for (NetworkedInventory inv : network.inventories) {
+          calculateDistances(inv.con);
+        }
+      }
+      distancesDirty = false;
+      ordersDirty = true;
+    }
+    if(ordersDirty) {
+      targetsByColor.clear();
+      for (NetworkedInventory inv : network.inventories) {
+        if(inv.canInsert()) {
+          getTargets(inv.con.getOutputColor(inv.conDir)).add(inv);
+        }
+      }
+      for (NetworkedInventory inv : network.inventories) {
+        buildSendPriority(inv);
+      }
+      destinations.invalidate();
+      ordersDirty = false;
+    }
+  }
+
+  private void buildSendPriority(NetworkedInventory source) {
+    source.sendPriority.clear();
+    if(!source.canExtract()) {
+      return;
+    }
+    List<NetworkedInventory> targets = targetsByColor.get(source.con.getInputColor(source.conDir));
+    if(targets == null) {
+      return;
+    }
+    for (NetworkedInventory target : targets) {
+      if(accepts(source, target)) {
+        source.sendPriority.add(createTarget(source, target));
+      }
+    }
+    Collections.sort(source.sendPriority);
+  }
+
+  private boolean accepts(NetworkedInventory source, NetworkedInventory target) {
+    return source.canExtract()
+        && (source != target || source.con.isSelfFeedEnabled(source.conDir))
+        && target.canInsert()
+        && source.con.getInputColor(source.conDir) == target.con.getOutputColor(target.conDir);
+  }
+
+  private Target createTarget(NetworkedInventory source, NetworkedInventory target) {
+    return new Target(target, getDistance(source, target), target.isSticky(), target.getPriority());
+  }
+
+  private int getDistance(NetworkedInventory source, NetworkedInventory target) {
+    if(Config.itemConduitUsePhyscialDistance) {
+      return source.con.getLocation().distanceSquared(target.con.getLocation());
+    }
+    Map<IItemConduit, Integer> row = distances.get(source.con);
+    Integer res = row == null ? null : row.get(target.con);
+    return res == null ? UNREACHABLE : res;
+  }
+
+  private void calculateDistances(IItemConduit from) {
+    if(distances.containsKey(from)) {
+      return;
+    }
+    Set<IItemConduit> wanted = new HashSet<IItemConduit>();
+    for (NetworkedInventory inv : network.inventories) {
+      wanted.add(inv.con);
+    }
+
+    Map<IItemConduit, Integer> row = new HashMap<IItemConduit, Integer>();
+    distances.put(from, row);
+
+    Set<IItemConduit> visited = new HashSet<IItemConduit>();
+    ArrayDeque<IItemConduit> current = new ArrayDeque<IItemConduit>();
+    ArrayDeque<IItemConduit> next = new ArrayDeque<IItemConduit>();
+    visited.add(from);
+    current.add(from);
+    int distance = 0;
+    int found = 0;
+    while (!current.isEmpty() && found < wanted.size()) {
+      for (IItemConduit con : current) {
+        if(wanted.contains(con)) {
+          found++;
+          row.put(con, distance);
+          Map<IItemConduit, Integer> otherRow = distances.get(con);
+          if(otherRow != null) {
+            otherRow.put(from, distance);
+          }
+        }
+        for (ForgeDirection dir : con.getConduitConnections()) {
+          IItemConduit neighbour = network.conMap.get(con.getLocation().getLocation(dir));
+          if(neighbour != null && visited.add(neighbour)) {
+            next.add(neighbour);
+          }
+        }
+      }
+      ArrayDeque<IItemConduit> tmp = current;
+      current = next;
+      next = tmp;
+      next.clear();
+      distance++;
+    }
+  }
+
+  private List<NetworkedInventory> getTargets(DyeColor color) {
+    List<NetworkedInventory> res = targetsByColor.get(color);
+    if(res == null) {
+      res = new ArrayList<NetworkedInventory>();
+      targetsByColor.put(color, res);
+    }
+    return res;
+  }
+
+  private static void insertSorted(List<Target> targets, Target target) {
+    int index = Collections.binarySearch(targets, target);
+    if(index < 0) {
+      index = -index - 1;
+    }
+    targets.add(index, target);
+  }
+
+  private static void removeTarget(List<Target> targets, NetworkedInventory inv) {
+    Iterator<Target> it = targets.iterator();
+    while (it.hasNext()) {
+      if(it.next().inv == inv) {
+        it.remove();
+      }
+    }
+  }
+
+}
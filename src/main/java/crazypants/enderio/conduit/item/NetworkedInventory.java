@@ -1,10 +1,7 @@
 package crazypants.enderio.conduit.item;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import net.minecraft.inventory.IInventory;
 import net.minecraft.inventory.ISidedInventory;
@@ -36,6 +33,16 @@ public class NetworkedInventory {
 
   int tickDeficit;
 
+  private static final int MIN_IDLE_SLEEP = 20;
+
+  //grows each time a check finds nothing to extract, reset when the inventory changes
+  private int idleSleep = MIN_IDLE_SLEEP;
+  private boolean sleepingIdle = false;
+  private boolean lastRedstoneMet = false;
+
+  //bumped whenever the conduit knows the inventory contents changed
+  private int contentsVersion;
+
   //work around for a vanilla chest changing into a double chest without doing unneeded checks all the time 
   boolean recheckInv = false;
   //Hack for TiC crafting station not working correctly when setting output slot to null
@@ -92,17 +99,58 @@ public class NetworkedInventory {
   }
 
   public void onTick(long tick) {
-    int transfered;
-    if(tickDeficit > 0 || !canExtract() || !con.isExtractionRedstoneConditionMet(conDir)) {
-      //do nothing     
-    } else {
-      transferItems();
+    if(!canExtract()) {
+      return;
+    }
+    boolean redstoneMet = con.isExtractionRedstoneConditionMet(conDir);
+    if(redstoneMet && !lastRedstoneMet) {
+      //extraction may have only been waiting on the signal
+      wake();
+    }
+    lastRedstoneMet = redstoneMet;
+
+    if(tickDeficit > 0) {
+      //do nothing
+      if(sleepingIdle) {
+        network.extractionScanSkipped();
+      }
+      tickDeficit--;
+      return;
+    }
+    if(!redstoneMet) {
+      return;
+    }
+
+    network.extractionScanPerformed();
+    if(transferItems()) {
+      contentsVersion++;
+      idleSleep = MIN_IDLE_SLEEP;
+      sleepingIdle = false;
     }
 
     tickDeficit--;
     if(tickDeficit < -1) {
-      //Sleep for a second before checking again.
-      tickDeficit = 20;
+      //Nothing to extract, back off before checking again.
+      tickDeficit = idleSleep;
+      idleSleep = Math.min(idleSleep * 2, Math.max(MIN_IDLE_SLEEP, Config.itemConduitMaxIdleSleepTicks));
+      sleepingIdle = true;
+    }
+  }
+
+  /**
+   * Called when the contents of the inventory may have changed so an idle
+   * back off is cut short.
+   */
+  void inventoryChanged() {
+    contentsVersion++;
+    wake();
+  }
+
+  private void wake() {
+    idleSleep = MIN_IDLE_SLEEP;
+    if(sleepingIdle) {
+      sleepingIdle = false;
+      tickDeficit = 0;
     }
   }
 
@@ -149,7 +197,12 @@ public class NetworkedInventory {
       if(canExtractItem(item)) {
         extractItem = item.copy();
         if(getInventory().canExtractItem(slot, extractItem, inventorySide)) {
-          if(doTransfer(extractItem, slot, maxExtracted)) {
+          if(con.isBulkExtractionEnabled(conDir)) {
+            if(doBulkTransfer(extractItem, slotIndices, index, maxExtracted)) {
+              setNextStartingSlot(slot);
+              return true;
+            }
+          } else if(doTransfer(extractItem, slot, maxExtracted)) {
             setNextStartingSlot(slot);
             return true;
           }
@@ -203,6 +256,58 @@ public class NetworkedInventory {
 
   }
 
+  /**
+   * Gathers up to maxExtract of the item from every accessible slot holding
+   * it, starting at the given slot, and offers them to the targets as one
+   * stack. The extracted amount is then taken from the slots in the same order
+   * with a single markDirty on the source.
+   */
+  private boolean doBulkTransfer(ItemStack extractedItem, int[] slotIndices, int startIndex, int maxExtract) {
+    if(extractedItem == null || extractedItem.getItem() == null) {
+      return false;
+    }
+    ISidedInventory inventory = getInventory();
+    List<Integer> slots = new ArrayList<Integer>();
+    int available = 0;
+    for (int i = 0; i < slotIndices.length && available < maxExtract; i++) {
+      int slot = slotIndices[(startIndex + i) % slotIndices.length];
+      ItemStack item = inventory.getStackInSlot(slot);
+      if(i == 0 || (ItemUtil.areStackMergable(extractedItem, item)
+          && canExtractItem(item) && inventory.canExtractItem(slot, item, inventorySide))) {
+        slots.add(slot);
+        available += item.stackSize;
+      }
+    }
+    ItemStack toExtract = extractedItem.copy();
+    toExtract.stackSize = Math.min(maxExtract, available);
+    int numInserted = insertIntoTargets(toExtract);
+    if(numInserted <= 0) {
+      return false;
+    }
+
+    int left = numInserted;
+    for (int i = 0; i < slots.size() && left > 0; i++) {
+      int slot = slots.get(i);
+      ItemStack curStack = inventory.getStackInSlot(slot);
+      if(curStack == null) {
+        continue;
+      }
+      int taken = Math.min(left, curStack.stackSize);
+      if(ticHack) {
+        inventory.decrStackSize(slot, taken);
+      } else {
+        curStack = curStack.copy();
+        curStack.stackSize -= taken;
+        inventory.setInventorySlotContents(slot, curStack.stackSize > 0 ? curStack : null);
+      }
+      con.itemsExtracted(taken, slot);
+      left -= taken;
+    }
+    inventory.markDirty();
+    tickDeficit = Math.round(numInserted * con.getTickTimePerItem(conDir));
+    return true;
+  }
+
   int insertIntoTargets(ItemStack toExtract) {
     if(toExtract == null) {
       return 0;
@@ -212,7 +317,7 @@ public class NetworkedInventory {
     int leftToInsert = totalToInsert;
     boolean matchedStickyInput = false;
 
-    Iterable<Target> targets = getTargetIterator();
+    Iterable<Target> targets = getTargetIterator(toExtract);
 
     //for (Target target : sendPriority) {
     for (Target target : targets) {
@@ -226,6 +331,7 @@ public class NetworkedInventory {
         }
         int inserted = target.inv.insertItem(toExtract);
         if(inserted > 0) {
+          target.inv.inventoryChanged();
           toExtract.stackSize -= inserted;
           leftToInsert -= inserted;
         }
@@ -237,7 +343,11 @@ public class NetworkedInventory {
     return totalToInsert - leftToInsert;
   }
 
-  private Iterable<Target> getTargetIterator() {
+  private Iterable<Target> getTargetIterator(ItemStack toExtract) {
+    Iterable<Target> res = network.routingTable.getDestinations(this, toExtract, con.isRoundRobinEnabled(conDir));
+    if(res != null) {
+      return res;
+    }
     if(con.isRoundRobinEnabled(conDir)) {
       return rrIter;
     }
@@ -267,99 +377,21 @@ public class NetworkedInventory {
     return ItemUtil.doInsertItem(getInventory(), item, ForgeDirection.values()[inventorySide]);
   }
 
-  void updateInsertOrder() {
-    sendPriority.clear();
-    if(!canExtract()) {
-      return;
-    }
-    List<Target> result = new ArrayList<NetworkedInventory.Target>();
-
-    for (NetworkedInventory other : network.inventories) {
-      if((con.isSelfFeedEnabled(conDir) || (other != this))
-          && other.canInsert()
-          && con.getInputColor(conDir) == other.con.getOutputColor(other.conDir)) {
-
-        if(Config.itemConduitUsePhyscialDistance) {
-          sendPriority.add(new Target(other, distanceTo(other), other.isSticky(), other.getPriority()));
-        } else {
-          result.add(new Target(other, 9999999, other.isSticky(), other.getPriority()));
-        }
-      }
-    }
-
-    if(Config.itemConduitUsePhyscialDistance) {
-      Collections.sort(sendPriority);
-    } else {
-      if(!result.isEmpty()) {
-        Map<BlockCoord, Integer> visited = new HashMap<BlockCoord, Integer>();
-        List<BlockCoord> steps = new ArrayList<BlockCoord>();
-        steps.add(con.getLocation());
-        calculateDistances(result, visited, steps, 0);
-
-        sendPriority.addAll(result);
-
-        Collections.sort(sendPriority);
-      }
-    }
-
-  }
-
-  private void calculateDistances(List<Target> targets, Map<BlockCoord, Integer> visited, List<BlockCoord> steps, int distance) {
-    if(steps == null || steps.isEmpty()) {
-      return;
-    }
-
-    ArrayList<BlockCoord> nextSteps = new ArrayList<BlockCoord>();
-    for (BlockCoord bc : steps) {
-      IItemConduit con = network.conMap.get(bc);
-      if(con != null) {
-        for (ForgeDirection dir : con.getExternalConnections()) {
-          Target target = getTarget(targets, con, dir);
-          if(target != null && target.distance > distance) {
-            target.distance = distance;
-          }
-        }
-
-        if(!visited.containsKey(bc)) {
-          visited.put(bc, distance);
-        } else {
-          int prevDist = visited.get(bc);
-          if(prevDist <= distance) {
-            continue;
-          }
-          visited.put(bc, distance);
-        }
-
-        for (ForgeDirection dir : con.getConduitConnections()) {
-          nextSteps.add(bc.getLocation(dir));
-        }
-      }
-    }
-    calculateDistances(targets, visited, nextSteps, distance + 1);
-  }
-
-  private Target getTarget(List<Target> targets, IItemConduit con, ForgeDirection dir) {
-    if(targets == null || con == null || con.getLocation() == null) {
-      return null;
-    }
-    for (Target target : targets) {
-      BlockCoord targetConLoc = null;
-      if(target != null && target.inv != null && target.inv.con != null) {
-        targetConLoc = target.inv.con.getLocation();
-      }
-      if(targetConLoc != null && target.inv.conDir == dir && targetConLoc.equals(con.getLocation())) {
-        return target;
-      }
-    }
-    return null;
+  public ISidedInventory getInventory() {
+    return inv;
   }
 
-  private int distanceTo(NetworkedInventory other) {
-    return con.getLocation().distanceSquared(other.con.getLocation());
+  /**
+   * Changes each time items are extracted from or inserted into the inventory
+   * by the network, or a neighbour change is reported. Changes made by anything
+   * else are not seen, so caches of the contents should also expire with time.
+   */
+  public int getContentsVersion() {
+    return contentsVersion;
   }
 
-  public ISidedInventory getInventory() {
-    return inv;
+  public World getWorld() {
+    return world;
   }
 
   public int getInventorySide() {
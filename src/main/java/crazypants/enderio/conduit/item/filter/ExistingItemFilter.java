@@ -4,7 +4,11 @@ import io.netty.buffer.ByteBuf;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import net.minecraft.inventory.Slot;
 import net.minecraft.item.Item;
@@ -26,23 +30,57 @@ public class ExistingItemFilter implements IItemFilter {
 
   List<ItemStack> snapshot = null;
 
+  //changes made to the inventory by anything other than the conduit are picked up after this long
+  private static final int MAX_CONTENTS_AGE = 20;
+
+  private ContentSet snapshotContents;
+
+  //a sticky filter is checked against both the source and the target of a
+  //transfer, so the contents of the last two inventories are kept
+  private CachedContents inventoryContents;
+  private CachedContents previousContents;
+
   @Override
   public boolean doesItemPassFilter(NetworkedInventory ni, ItemStack item) {
-    if(item == null) {
+    if(item == null || item.getItem() == null) {
       return false;
     }
     if(snapshot == null) {
+      return getInventoryContents(ni).contains(item);
+    }
+    if(snapshotContents == null) {
+      snapshotContents = new ContentSet(snapshot);
+    }
+    return snapshotContents.contains(item);
+  }
+
+  private ContentSet getInventoryContents(NetworkedInventory ni) {
+    long now = ni.getWorld().getTotalWorldTime();
+    if(inventoryContents == null || inventoryContents.inv != ni) {
+      CachedContents swap = previousContents;
+      previousContents = inventoryContents;
+      inventoryContents = swap;
+    }
+    if(inventoryContents == null || inventoryContents.inv != ni || !inventoryContents.isValid(now)) {
+      List<ItemStack> contents = new ArrayList<ItemStack>();
       int[] slots = ni.getInventory().getAccessibleSlotsFromSide(ni.getInventorySide());
-      for (int i = 0; i < slots.length; i++) {
-        ItemStack stack = ni.getInventory().getStackInSlot(i);
-        if(stackEqual(item, stack)) {
-          return true;
+      if(slots != null) {
+        for (int slot : slots) {
+          ItemStack stack = ni.getInventory().getStackInSlot(slot);
+          if(stack != null && stack.getItem() != null) {
+            contents.add(stack);
+          }
         }
       }
-    } else {
-      return isStackInSnapshot(item);
+      inventoryContents = new CachedContents(ni, new ContentSet(contents), now);
     }
-    return false;
+    return inventoryContents.contents;
+  }
+
+  private void invalidate() {
+    snapshotContents = null;
+    inventoryContents = null;
+    previousContents = null;
   }
 
   boolean isStackInSnapshot(ItemStack item) {
@@ -108,11 +146,12 @@ public class ExistingItemFilter implements IItemFilter {
     }
     int[] slots = ni.getInventory().getAccessibleSlotsFromSide(ni.getInventorySide());
     for (int i = 0; i < slots.length; i++) {
-      ItemStack stack = ni.getInventory().getStackInSlot(i);
+      ItemStack stack = ni.getInventory().getStackInSlot(slots[i]);
       if(stack != null && !isStackInSnapshot(stack)) {
         snapshot.add(stack);
       }
     }
+    invalidate();
   }
 
   public boolean mergeSnapshot(IInventory inventory) {
@@ -128,6 +167,7 @@ public class ExistingItemFilter implements IItemFilter {
         added = true;
       }
     }
+    invalidate();
     return added;
   }
 
@@ -137,6 +177,7 @@ public class ExistingItemFilter implements IItemFilter {
 
   public void setSnapshot(List<ItemStack> snapshot) {
     this.snapshot = snapshot;
+    invalidate();
   }
 
   public boolean isMatchMeta() {
@@ -145,6 +186,7 @@ public class ExistingItemFilter implements IItemFilter {
 
   public void setMatchMeta(boolean matchMeta) {
     this.matchMeta = matchMeta;
+    invalidate();
   }
 
   public boolean isMatchNBT() {
@@ -153,6 +195,7 @@ public class ExistingItemFilter implements IItemFilter {
 
   public void setMatchNBT(boolean matchNbt) {
     matchNBT = matchNbt;
+    invalidate();
   }
 
   public boolean isUseOreDict() {
@@ -161,6 +204,7 @@ public class ExistingItemFilter implements IItemFilter {
 
   public void setUseOreDict(boolean useOreDict) {
     this.useOreDict = useOreDict;
+    invalidate();
   }
 
   @Override
@@ -197,6 +241,7 @@ public class ExistingItemFilter implements IItemFilter {
     matchNBT = nbtRoot.getBoolean("matchNBT");
     useOreDict = nbtRoot.getBoolean("useOreDict");
     sticky = nbtRoot.getBoolean("sticky");
+    invalidate();
   }
 
   @Override
@@ -263,4 +308,81 @@ public class ExistingItemFilter implements IItemFilter {
 
   }
 
+  private static final class CachedContents {
+
+    final NetworkedInventory inv;
+    final ContentSet contents;
+    final int version;
+    final long time;
+
+    CachedContents(NetworkedInventory inv, ContentSet contents, long time) {
+      this.inv = inv;
+      this.contents = contents;
+      this.version = inv.getContentsVersion();
+      this.time = time;
+    }
+
+    boolean isValid(long now) {
+      return version == inv.getContentsVersion() && now - time < MAX_CONTENTS_AGE && now >= time;
+    }
+  }
+
+  /**
+   * The stacks of an inventory or snapshot keyed by item id, and damage when
+   * that has to match, along with their ore dictionary ids. Only stacks with
+   * the same key have their NBT compared.
+   */
+  private final class ContentSet {
+
+    private final Map<Long, List<ItemStack>> byKey = new HashMap<Long, List<ItemStack>>();
+    private final Set<Integer> oreIds = new HashSet<Integer>();
+
+    ContentSet(List<ItemStack> stacks) {
+      for (ItemStack stack : stacks) {
+        if(stack == null || stack.getItem() == null) {
+          continue;
+        }
+        //stacks sharing a key can still have different ore ids when damage is ignored
+        if(useOreDict) {
+          int id = OreDictionary.getOreID(stack);
+          if(id != -1) {
+            oreIds.add(id);
+          }
+        }
+        Long key = getKey(stack);
+        List<ItemStack> list = byKey.get(key);
+        if(list == null) {
+          list = new ArrayList<ItemStack>(1);
+          byKey.put(key, list);
+        } else if(!matchNBT) {
+          continue;
+        }
+        list.add(stack);
+      }
+    }
+
+    boolean contains(ItemStack item) {
+      if(!oreIds.isEmpty() && oreIds.contains(OreDictionary.getOreID(item))) {
+        return true;
+      }
+      List<ItemStack> candidates = byKey.get(getKey(item));
+      if(candidates == null) {
+        return false;
+      }
+      if(!matchNBT) {
+        return true;
+      }
+      for (ItemStack stack : candidates) {
+        if(ItemStack.areItemStackTagsEqual(item, stack)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private Long getKey(ItemStack stack) {
+      return ((long) Item.getIdFromItem(stack.getItem()) << 32) | (matchMeta ? stack.getItemDamage() & 0xFFFFFFFFL : 0);
+    }
+  }
+
 }
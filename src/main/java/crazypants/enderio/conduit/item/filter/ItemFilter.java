@@ -4,7 +4,11 @@ import io.netty.buffer.ByteBuf;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
@@ -38,7 +42,8 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   ItemStack[] items;
 
-  final List<int[]> oreIds;
+  //built on first use after the settings or items change
+  private CompiledFilter compiled;
 
   private boolean isAdvanced; 
 
@@ -53,10 +58,6 @@ public class ItemFilter implements IInventory, IItemFilter {
   private ItemFilter(int numItems, boolean isAdvanced) {
     this.isAdvanced = isAdvanced;
     items = new ItemStack[numItems];
-    oreIds = new ArrayList<int[]>(numItems);
-    for(int i=0;i<numItems;i++) {
-      oreIds.add(null);
-    }
   }
 
   @Override
@@ -74,80 +75,126 @@ public class ItemFilter implements IInventory, IItemFilter {
   }
 
   private boolean itemMatched(ItemStack item) {
-    if(item == null) {
+    if(item == null || item.getItem() == null) {
       return false;
     }
-    boolean matched = false;
-    int i = 0;
-    for (ItemStack it : items) {
-      if(it != null && Item.getIdFromItem(item.getItem()) == Item.getIdFromItem(it.getItem())) {
-        matched = true;
-        if(matchMeta && item.getItemDamage() != it.getItemDamage()) {
-          matched = false;
-        } else if(matchNBT && !isNBTMatch(item, it)) {
-          matched = false;
-        }        
-      }
-      if(!matched && isOreDicMatch(i, item)) {
-        matched = true;
-      }
-      if(matched) {
-        break;
-      }
-      i++;
+    if(compiled == null) {
+      compiled = new CompiledFilter(items, matchMeta, matchNBT, useOreDict);
     }
-    return matched;
+    return compiled.matches(item);
   }
 
-  private boolean isOreDicMatch(int filterItemIndex, ItemStack item) {    
-    if(!useOreDict || item == null) {
-      return false;
+  private void invalidate() {
+    compiled = null;
+  }
+
+  private static boolean isNBTMatch(ItemStack item, ItemStack filter) {
+    NBTTagCompound itemTag = item.stackTagCompound;
+    NBTTagCompound filterTag = filter.stackTagCompound;
+    if(itemTag == null && filterTag == null) {
+      return true;
     }
-    int[] ids1 = getCachedIds(filterItemIndex);
-    if(ids1 == null || ids1.length == 0) {
+    if(itemTag == null || filterTag == null) {
       return false;
     }
-    int[] ids2 = OreDictionary.getOreIDs(item);
-    if(ids2 == null || ids2.length == 0) {
+    if(!itemTag.hasKey("GEN")) {
+      return itemTag.equals(filterTag);
+    }
+    return isTagMatchIgnoringGen(itemTag, filterTag);
+  }
+
+  /**
+   * Compares two compounds as if the "GEN" tag had been removed from both,
+   * without copying either of them.
+   */
+  private static boolean isTagMatchIgnoringGen(NBTTagCompound a, NBTTagCompound b) {
+    Set<?> keysA = a.func_150296_c();
+    Set<?> keysB = b.func_150296_c();
+    int sizeA = keysA.size() - (keysA.contains("GEN") ? 1 : 0);
+    int sizeB = keysB.size() - (keysB.contains("GEN") ? 1 : 0);
+    if(sizeA != sizeB) {
       return false;
     }
-    for(int id1 : ids1) {
-      for(int id2 : ids2) {
-        if(id1 == id2) {
-          return true;
+    for (Object key : keysA) {
+      if(!"GEN".equals(key)) {
+        NBTBase tagB = b.getTag((String) key);
+        if(tagB == null || !tagB.equals(a.getTag((String) key))) {
+          return false;
         }
       }
-    }    
-    return false;
+    }
+    return true;
   }
-  
-  private boolean isNBTMatch(ItemStack filter, ItemStack item)
-  {
-    if (filter.stackTagCompound == null && item.stackTagCompound == null) return true;
-    if (filter.stackTagCompound == null || item.stackTagCompound == null) return false;
-    if (!filter.getTagCompound().hasKey("GEN")) return filter.stackTagCompound.equals(item.stackTagCompound);
-    NBTTagCompound filterTag = (NBTTagCompound) filter.getTagCompound().copy();
-    NBTTagCompound itemTag = (NBTTagCompound) item.getTagCompound().copy();
-    filterTag.removeTag("GEN");
-    itemTag.removeTag("GEN");
-    return filterTag.equals(itemTag);
-  }
-
-  private int[] getCachedIds(int filterItemIndex) {   
-    int[] res = oreIds.get(filterItemIndex);
-    if(res == null) {
-      ItemStack item = items[filterItemIndex];
-      if(item == null) {
-        res = new int[0];
-      } else {
-        res = OreDictionary.getOreIDs(item);
-        if(res == null) {
-          res = new int[0];
+
+  private static long getKey(ItemStack stack, boolean matchMeta) {
+    return ((long) Item.getIdFromItem(stack.getItem()) << 32) | (matchMeta ? stack.getItemDamage() & 0xFFFFFFFFL : 0);
+  }
+
+  /**
+   * Immutable form of the filter's settings and items. Candidates are looked up
+   * by item id, and damage if it has to match, so only stacks that could match
+   * have their NBT compared. The ore dictionary ids of all the filter items are
+   * merged into a single bit set.
+   */
+  private static final class CompiledFilter {
+
+    private final Map<Long, List<ItemStack>> byKey = new HashMap<Long, List<ItemStack>>();
+    private final BitSet oreIds = new BitSet();
+    private final boolean matchMeta;
+    private final boolean matchNBT;
+
+    CompiledFilter(ItemStack[] items, boolean matchMeta, boolean matchNBT, boolean useOreDict) {
+      this.matchMeta = matchMeta;
+      this.matchNBT = matchNBT;
+      for (ItemStack it : items) {
+        if(it == null || it.getItem() == null) {
+          continue;
+        }
+        Long key = getKey(it, matchMeta);
+        List<ItemStack> list = byKey.get(key);
+        if(list == null) {
+          list = new ArrayList<ItemStack>(1);
+          byKey.put(key, list);
+        }
+        list.add(it);
+        if(useOreDict) {
+          int[] ids = OreDictionary.getOreIDs(it);
+          if(ids != null) {
+            for (int id : ids) {
+              if(id >= 0) {
+                oreIds.set(id);
+              }
+            }
+          }
+        }
+      }
+    }
+
+    boolean matches(ItemStack item) {
+      List<ItemStack> candidates = byKey.get(getKey(item, matchMeta));
+      if(candidates != null) {
+        if(!matchNBT) {
+          return true;
         }
+        for (ItemStack it : candidates) {
+          if(isNBTMatch(item, it)) {
+            return true;
+          }
+        }
+      }
+      if(oreIds.isEmpty()) {
+        return false;
       }
-      oreIds.set(filterItemIndex, res);
+      int[] ids = OreDictionary.getOreIDs(item);
+      if(ids != null) {
+        for (int id : ids) {
+          if(id >= 0 && oreIds.get(id)) {
+            return true;
+          }
+        }
+      }
+      return false;
     }
-    return res;
   }
 
   @Override
@@ -174,6 +221,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   public void setMatchMeta(boolean matchMeta) {
     this.matchMeta = matchMeta;
+    invalidate();
   }
 
   public boolean isMatchNBT() {
@@ -182,6 +230,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   public void setMatchNBT(boolean matchNbt) {
     matchNBT = matchNbt;
+    invalidate();
   }
 
   public boolean isUseOreDict() {
@@ -190,6 +239,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   public void setUseOreDict(boolean useOreDict) {
     this.useOreDict = useOreDict;
+    invalidate();
   }
 
   @Override
@@ -233,10 +283,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
     int numItems = isAdvanced ? 10 : 5;
     items = new ItemStack[numItems];
-    oreIds.clear();
-    for(int i=0;i<numItems;i++) {
-      oreIds.add(null);
-    }
+    invalidate();
     for (int i = 0; i < numItems; i++) {      
       NBTBase tag = nbtRoot.getTag("item" + i);
       if(tag instanceof NBTTagCompound) {
@@ -275,7 +322,7 @@ public class ItemFilter implements IInventory, IItemFilter {
 
   @Override
   public ItemStack decrStackSize(int fromSlot, int amount) {
-    oreIds.set(fromSlot, null);
+    invalidate();
     ItemStack item = items[fromSlot];
     items[fromSlot] = null;
     if(item == null) {
@@ -298,7 +345,7 @@ public class ItemFilter implements IInventory, IItemFilter {
     } else {
       items[i] = null;
     }
-    oreIds.set(i, null);
+    invalidate();
   }
 
   @Override
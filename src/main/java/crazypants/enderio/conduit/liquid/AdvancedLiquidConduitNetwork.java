@@ -10,7 +10,6 @@ import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidTankInfo;
 import net.minecraftforge.fluids.IFluidHandler;
 import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
-import crazypants.enderio.conduit.ConduitNetworkTickHandler;
 import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
 import crazypants.enderio.conduit.IConduit;
 import crazypants.util.BlockCoord;
@@ -30,8 +29,6 @@ public class AdvancedLiquidConduitNetwork extends AbstractTankConduitNetwork<Adv
 
   private int lastSyncedVolume = -1;
 
-  private long timeAtLastApply;
-
   private final InnerTickHandler tickHandler = new InnerTickHandler();
 
   private int ticksEmpty;
@@ -60,6 +57,28 @@ public class AdvancedLiquidConduitNetwork extends AbstractTankConduitNetwork<Adv
     super.addConduit(con);
   }
 
+  @Override
+  protected void conduitRemoved(AdvancedLiquidConduit con) {
+    // the conduit leaves with its share of the network's fluid
+    int share = 0;
+    if(tank.getCapacity() > 0) {
+      share = (int) ((long) tank.getFluidAmount() * AdvancedLiquidConduit.CONDUIT_VOLUME / tank.getCapacity());
+    }
+    if(tank.containsValidLiquid() && share > 0) {
+      FluidStack f = tank.getFluid().copy();
+      f.amount = share;
+      con.getTank().setLiquid(f);
+      tank.addAmount(-share);
+    } else {
+      con.getTank().setLiquid(null);
+    }
+    tank.setCapacity(Math.max(0, tank.getCapacity() - AdvancedLiquidConduit.CONDUIT_VOLUME));
+    for (ForgeDirection dir : con.getExternalConnections()) {
+      outputs.remove(new LiquidOutput(con.getLocation().getLocation(dir), dir.getOpposite()));
+    }
+    outputIterator = null;
+  }
+
   @Override
   public boolean setFluidType(FluidStack newType) {
     if(super.setFluidType(newType)) {
@@ -108,21 +127,8 @@ public class AdvancedLiquidConduitNetwork extends AbstractTankConduitNetwork<Adv
   }
 
   @Override
-  public void onUpdateEntity(IConduit conduit) {
-    World world = conduit.getBundle().getEntity().getWorldObj();
-    if(world == null) {
-      return;
-    }
-    if(world.isRemote) {
-      return;
-    }
-
-    long curTime = world.getTotalWorldTime();
-    if(curTime > 0 && curTime != timeAtLastApply) {
-      timeAtLastApply = curTime;
-      ConduitNetworkTickHandler.instance.addListener(tickHandler);
-    }
-
+  protected TickListener getTickListener() {
+    return tickHandler;
   }
 
   private void doTick() {
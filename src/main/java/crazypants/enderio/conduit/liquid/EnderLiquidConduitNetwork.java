@@ -2,6 +2,7 @@ package crazypants.enderio.conduit.liquid;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -46,6 +47,19 @@ public class EnderLiquidConduitNetwork extends AbstractConduitNetwork<ILiquidCon
     tankMap.put(key, tank);
   }
 
+  @Override
+  protected void conduitRemoved(EnderLiquidConduit con) {
+    Iterator<NetworkTank> it = tanks.iterator();
+    while (it.hasNext()) {
+      NetworkTank tank = it.next();
+      if(tank.con == con) {
+        it.remove();
+        tankMap.remove(new NetworkTankKey(con, tank.conDir));
+      }
+    }
+    iterators = null;
+  }
+
   public boolean extractFrom(EnderLiquidConduit con, ForgeDirection conDir) {
     NetworkTank tank = getTank(con, conDir);
     if(tank == null || !tank.isValid()) {
@@ -5,15 +5,12 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
-import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.IFluidHandler;
 import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
-import crazypants.enderio.conduit.ConduitNetworkTickHandler;
 import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
 import crazypants.enderio.conduit.ConduitUtil;
-import crazypants.enderio.conduit.IConduit;
 import crazypants.util.BlockCoord;
 
 public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidConduit> {
@@ -22,8 +19,6 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
     super(LiquidConduit.class);
   }
 
-  private long timeAtLastApply;
-
   private int ticksEmpty = 0;
 
   private int maxFlowsPerTick = 10;
@@ -54,26 +49,14 @@ public class LiquidConduitNetwork extends AbstractTankConduitNetwork<LiquidCondu
   }
 
   @Override
-  public void onUpdateEntity(IConduit conduit) {
-    World world = conduit.getBundle().getEntity().getWorldObj();
-    if(world == null) {
-      return;
-    }
-    if(world.isRemote || liquidType == null) {
-      return;
-    }
-
-    long curTime = world.getTotalWorldTime();
-    if(curTime > 0 && curTime != timeAtLastApply) {
-      timeAtLastApply = curTime;
-      ConduitNetworkTickHandler.instance.addListener(tickHandler);
-    }
+  protected TickListener getTickListener() {
+    return tickHandler;
   }
 
   private void doTick() {
 
     List<LiquidConduit> cons = getConduits();
-    if(cons == null || cons.isEmpty()) {
+    if(cons == null || cons.isEmpty() || liquidType == null) {
       return;
     }
 
@@ -1,10 +1,10 @@
 package crazypants.enderio.conduit.power;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -13,7 +13,6 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
 import crazypants.enderio.Log;
-import crazypants.enderio.conduit.ConduitNetworkTickHandler;
 import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
 import crazypants.enderio.conduit.ConnectionMode;
 import crazypants.enderio.conduit.power.PowerConduitNetwork.ReceptorEntry;
@@ -23,8 +22,12 @@ import crazypants.enderio.power.IPowerStorage;
 
 public class NetworkPowerManager {
 
+  private static final int MIN_RECEPTOR_BACKOFF = 1;
+
   private PowerConduitNetwork network;
 
+  private final World world;
+
   int maxEnergyStored;
   int energyStored;
   private int reserved;
@@ -32,13 +35,27 @@ public class NetworkPowerManager {
   private int updateRenderTicks = 10;
   private int inactiveTicks = 100;
 
-  private final List<ReceptorEntry> receptors = new ArrayList<PowerConduitNetwork.ReceptorEntry>();
-  private ListIterator<ReceptorEntry> receptorIterator = receptors.listIterator();
+  private static final ReceptorEntry[] NO_RECEPTORS = new ReceptorEntry[0];
+  private static final IPowerConduit[] NO_CONDUITS = new IPowerConduit[0];
 
-  private final List<ReceptorEntry> storageReceptors = new ArrayList<ReceptorEntry>();
+  //rebuilt from the network only when receptorsDirty is set
+  private ReceptorEntry[] receptors = NO_RECEPTORS;
+  //one entry per receptor tile, for the monitor and probe totals
+  private ReceptorEntry[] uniqueReceptors = NO_RECEPTORS;
+  private ReceptorEntry[] storageReceptors = NO_RECEPTORS;
+  //round robin position in receptors, carried over between ticks
+  private int receptorIndex;
 
   private boolean receptorsDirty = true;
 
+  //rebuilt only when conduits join or leave the network
+  private IPowerConduit[] conduits = NO_CONDUITS;
+  private boolean conduitsDirty = true;
+
+  //total the conduits were left holding at the end of the last tick, or -1 if
+  //they have to be written again
+  private int distributedEnergy = -1;
+
   private final Map<IPowerConduit, PowerTracker> powerTrackers = new HashMap<IPowerConduit, PowerTracker>();
 
   private PowerTracker networkPowerTracker = new PowerTracker();
@@ -49,6 +66,7 @@ public class NetworkPowerManager {
 
   public NetworkPowerManager(PowerConduitNetwork netowrk, World world) {
     network = netowrk;
+    this.world = world;
     maxEnergyStored = 64;
   }
 
@@ -84,14 +102,9 @@ public class NetworkPowerManager {
 
   public long getPowerInReceptors() {
     long result = 0;
-    Set<Object> done = new HashSet<Object>();
-    for (ReceptorEntry re : receptors) {
+    for (ReceptorEntry re : uniqueReceptors) {
       if(!re.emmiter.getConnectionsDirty()) {
-        IPowerInterface powerReceptor = re.powerInterface;
-        if(!done.contains(powerReceptor.getDelegate())) {
-          done.add(powerReceptor.getDelegate());
-          result += powerReceptor.getEnergyStored(re.direction);
-        }
+        result += re.powerInterface.getEnergyStored(re.direction);
       }
     }
     return result;
@@ -99,58 +112,62 @@ public class NetworkPowerManager {
 
   public long getMaxPowerInReceptors() {
     long result = 0;
-    Set<Object> done = new HashSet<Object>();
-    for (ReceptorEntry re : receptors) {
+    for (ReceptorEntry re : uniqueReceptors) {
       if(!re.emmiter.getConnectionsDirty()) {
-        IPowerInterface powerReceptor = re.powerInterface;
-        if(!done.contains(powerReceptor.getDelegate())) {
-          done.add(powerReceptor.getDelegate());
-          result += powerReceptor.getMaxEnergyStored(re.direction);
-        }
+        result += re.powerInterface.getMaxEnergyStored(re.direction);
       }
     }
     return result;
   }
 
-  public void applyRecievedPower() {
-    //want to do this after all conduits have updated so all connections have been checked etc
-    ConduitNetworkTickHandler.instance.addListener(applyPowerCallback);
+  //run at the end of each tick, after all conduits have updated so all connections have been checked etc
+  TickListener getTickListener() {
+    return applyPowerCallback;
   }
 
   public void doApplyRecievedPower() {
 
+    checkConduits();
+
     trackerStartTick();
 
     checkReceptors();
 
     // Update our energy stored based on what's in our conduits
     updateNetorkStorage();
+    int storedAtStart = energyStored;
     networkPowerTracker.tickStart(energyStored);
 
     capSupply.init();
 
     int appliedCount = 0;
-    int numReceptors = receptors.size();
+    int numReceptors = receptors.length;
     int available = energyStored + capSupply.canExtract;
     int wasAvailable = available;
 
-    if(available <= 0 || (receptors.isEmpty() && storageReceptors.isEmpty())) {
+    if(available <= 0 || (numReceptors == 0 && storageReceptors.length == 0)) {
       trackerEndTick();
       networkPowerTracker.tickEnd(energyStored);
       return;
     }
 
+    long now = world.getTotalWorldTime();
     while (available > 0 && appliedCount < numReceptors) {
 
-      if(!receptors.isEmpty() && !receptorIterator.hasNext()) {
-        receptorIterator = receptors.listIterator();
+      if(receptorIndex >= numReceptors) {
+        receptorIndex = 0;
       }
-      ReceptorEntry r = receptorIterator.next();
+      ReceptorEntry r = receptors[receptorIndex++];
       IPowerInterface pp = r.powerInterface;
-      if(pp != null) {
+      if(pp != null && r.nextOffer <= now) {
         int canOffer = Math.min(r.emmiter.getMaxEnergyExtracted(r.direction), available);
         int used = pp.recieveEnergy(r.direction.getOpposite(), canOffer);
         used = Math.max(0, used);
+        if(used > 0) {
+          r.backoff = 0;
+        } else if(canOffer > 0) {
+          backOff(r, now);
+        }
         trackerSend(r.emmiter, used, false);
         available -= used;
         if(available <= 0) {
@@ -164,7 +181,7 @@ public class NetworkPowerManager {
     // use all the capacator storage first
     energyStored -= used;
 
-    if(!capSupply.capBanks.isEmpty()) {
+    if(capSupply.numCapBanks > 0) {
       int capBankChange = 0;
       if(energyStored < 0) {
         // not enough so get the rest from the capacitor bank
@@ -185,19 +202,49 @@ public class NetworkPowerManager {
       capSupply.balance();
     }
 
-    distributeStorageToConduits();
+    // the conduits still hold an even share of the total from last tick if
+    // nothing was received, used or moved to the banks, so leave them be
+    if(storedAtStart != distributedEnergy || energyStored != distributedEnergy) {
+      distributeStorageToConduits();
+    }
 
     trackerEndTick();
 
     networkPowerTracker.tickEnd(energyStored);
   }
 
+  /**
+   * Full receptors are not offered energy again until their wait is up, the
+   * wait doubling each time they refuse.
+   */
+  private void backOff(ReceptorEntry r, long now) {
+    int max = Config.powerConduitMaxReceptorBackoffTicks;
+    if(max <= 0) {
+      return;
+    }
+    r.backoff = r.backoff <= 0 ? MIN_RECEPTOR_BACKOFF : Math.min(r.backoff * 2, Math.max(MIN_RECEPTOR_BACKOFF, max));
+    r.nextOffer = now + r.backoff;
+  }
+
+  /**
+   * Offers energy to the receptors of the conduit on the next tick, as one of
+   * them may have changed.
+   */
+  void wakeReceptors(IPowerConduit con) {
+    for (ReceptorEntry r : receptors) {
+      if(r.emmiter == con) {
+        r.backoff = 0;
+        r.nextOffer = 0;
+      }
+    }
+  }
+
   private void trackerStartTick() {
 
     if(!Config.detailedPowerTrackingEnabled) {
       return;
     }
-    for (IPowerConduit con : network.getConduits()) {
+    for (IPowerConduit con : conduits) {
       if(con.hasExternalConnections()) {
         PowerTracker tracker = getOrCreateTracker(con);
         tracker.tickStart(con.getEnergyStored());
@@ -229,7 +276,7 @@ public class NetworkPowerManager {
     if(!Config.detailedPowerTrackingEnabled) {
       return;
     }
-    for (IPowerConduit con : network.getConduits()) {
+    for (IPowerConduit con : conduits) {
       if(con.hasExternalConnections()) {
         PowerTracker tracker = getOrCreateTracker(con);
         tracker.tickEnd(con.getEnergyStored());
@@ -248,9 +295,10 @@ public class NetworkPowerManager {
 
   private void distributeStorageToConduits() {
     if(maxEnergyStored <= 0 || energyStored <= 0) {
-      for (IPowerConduit con : network.getConduits()) {
+      for (IPowerConduit con : conduits) {
         con.setEnergyStored(0);
       }
+      distributedEnergy = 0;
       return;
     }
     energyStored = MathHelper.clamp_int(energyStored, 0, maxEnergyStored);
@@ -258,7 +306,7 @@ public class NetworkPowerManager {
     float filledRatio = (float) energyStored / maxEnergyStored;
     int energyLeft = energyStored;
     int given = 0;
-    for (IPowerConduit con : network.getConduits()) {
+    for (IPowerConduit con : conduits) {
       if(energyLeft > 0) {
         // NB: use ceil to ensure we dont through away any energy due to
         // rounding
@@ -273,6 +321,7 @@ public class NetworkPowerManager {
         con.setEnergyStored(0);
       }
     }
+    distributedEnergy = given;
   }
 
   boolean isActive() {
@@ -280,10 +329,8 @@ public class NetworkPowerManager {
   }
 
   private void updateNetorkStorage() {
-    maxEnergyStored = 0;
     energyStored = 0;
-    for (IPowerConduit con : network.getConduits()) {
-      maxEnergyStored += con.getMaxEnergyStored();
+    for (IPowerConduit con : conduits) {
       con.onTick();
       energyStored += con.getEnergyStored();
     }
@@ -294,25 +341,59 @@ public class NetworkPowerManager {
     receptorsDirty = true;
   }
 
+  void conduitsChanged() {
+    conduitsDirty = true;
+  }
+
+  private void checkConduits() {
+    if(!conduitsDirty) {
+      return;
+    }
+    List<IPowerConduit> cons = network.getConduits();
+    conduits = cons.toArray(new IPowerConduit[cons.size()]);
+    maxEnergyStored = 0;
+    for (IPowerConduit con : conduits) {
+      maxEnergyStored += con.getMaxEnergyStored();
+    }
+    distributedEnergy = -1;
+    conduitsDirty = false;
+  }
+
   private void checkReceptors() {
     if(!receptorsDirty) {
       return;
     }
-    receptors.clear();
-    storageReceptors.clear();
+    List<ReceptorEntry> machines = new ArrayList<ReceptorEntry>();
+    List<ReceptorEntry> storage = new ArrayList<ReceptorEntry>();
+    List<ReceptorEntry> unique = new ArrayList<ReceptorEntry>();
+    Set<Object> delegates = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
     for (ReceptorEntry rec : network.getPowerReceptors()) {
       if(rec.powerInterface.getDelegate() != null &&
           rec.powerInterface.getDelegate() instanceof IPowerStorage) {
-        storageReceptors.add(rec);
+        storage.add(rec);
       } else {
-        receptors.add(rec);
+        machines.add(rec);
+        //storage is reported separately, so only machines are counted here
+        if(delegates.add(rec.powerInterface.getDelegate())) {
+          unique.add(rec);
+        }
       }
     }
-    receptorIterator = receptors.listIterator();
+    receptors = machines.toArray(new ReceptorEntry[machines.size()]);
+    storageReceptors = storage.toArray(new ReceptorEntry[storage.size()]);
+    uniqueReceptors = unique.toArray(new ReceptorEntry[unique.size()]);
+    receptorIndex = 0;
+    capSupply.receptorsChanged();
 
     receptorsDirty = false;
   }
 
+  void conduitRemoved(IPowerConduit con) {
+    powerTrackers.remove(con);
+    conduitsChanged();
+    receptorsChanged();
+  }
+
   void onNetworkDestroyed() {
   }
 
@@ -338,24 +419,58 @@ public class NetworkPowerManager {
     }
   }
 
+  /**
+   * Totals and per receptor limits of the capacitor banks on the network. The
+   * entries are created when the receptors change and only have their limits
+   * refreshed each tick.
+   */
   private class CapBankSupply {
 
     int canExtract;
     int canFill;
-    Set<IPowerStorage> capBanks = new HashSet<IPowerStorage>();
+
+    //distinct controllers seen by the last init, only the first numCapBanks are valid
+    IPowerStorage[] capBanks = new IPowerStorage[0];
+    int numCapBanks;
 
     double filledRatio;
     long stored = 0;
     long maxCap = 0;
 
-    List<CapBankSupplyEntry> enteries = new ArrayList<NetworkPowerManager.CapBankSupplyEntry>();
+    //one per storage receptor
+    CapBankSupplyEntry[] allEntries = new CapBankSupplyEntry[0];
+    //the network controlled ones from the last init, only the first numEnteries are valid
+    CapBankSupplyEntry[] enteries = new CapBankSupplyEntry[0];
+    int numEnteries;
 
     CapBankSupply() {
     }
 
+    void receptorsChanged() {
+      allEntries = new CapBankSupplyEntry[storageReceptors.length];
+      for (int i = 0; i < allEntries.length; i++) {
+        ReceptorEntry rec = storageReceptors[i];
+        allEntries[i] = new CapBankSupplyEntry(rec.emmiter, rec.direction);
+      }
+      enteries = new CapBankSupplyEntry[allEntries.length];
+      capBanks = new IPowerStorage[allEntries.length];
+      numEnteries = 0;
+      numCapBanks = 0;
+    }
+
+    private boolean addCapBank(IPowerStorage controller) {
+      for (int i = 0; i < numCapBanks; i++) {
+        if(capBanks[i] == controller) {
+          return false;
+        }
+      }
+      capBanks[numCapBanks++] = controller;
+      return true;
+    }
+
     void init() {
-      capBanks.clear();
-      enteries.clear();
+      numCapBanks = 0;
+      numEnteries = 0;
       canExtract = 0;
       canFill = 0;
       stored = 0;
@@ -364,15 +479,13 @@ public class NetworkPowerManager {
       double toBalance = 0;
       double maxToBalance = 0;
 
-      for (ReceptorEntry rec : storageReceptors) {
+      for (int i = 0; i < storageReceptors.length; i++) {
+        ReceptorEntry rec = storageReceptors[i];
         IPowerStorage cb = (IPowerStorage) rec.powerInterface.getDelegate();
 
-        boolean processed = capBanks.contains(cb.getController());
-
-        if(!processed) {
+        if(addCapBank(cb.getController())) {
           stored += cb.getEnergyStoredL();
           maxCap += cb.getMaxEnergyStoredL();
-          capBanks.add(cb.getController());
         }
 
         if(rec.emmiter.getConnectionMode(rec.direction) == ConnectionMode.IN_OUT) {
@@ -394,7 +507,9 @@ public class NetworkPowerManager {
             canFill = Math.min(canFill, rec.emmiter.getMaxEnergyExtracted(rec.direction));
             this.canFill += canFill;
           }
-          enteries.add(new CapBankSupplyEntry(cb, (int) canGet, (int) canFill, rec.emmiter, rec.direction));
+          CapBankSupplyEntry entry = allEntries[i];
+          entry.set(cb, (int) canGet, (int) canFill);
+          enteries[numEnteries++] = entry;
         }
 
       }
@@ -406,13 +521,14 @@ public class NetworkPowerManager {
     }
 
     void balance() {
-      if(enteries.size() < 2) {
+      if(numEnteries < 2) {
         return;
       }
       init();
       int canRemove = 0;
       int canAdd = 0;
-      for (CapBankSupplyEntry entry : enteries) {
+      for (int i = 0; i < numEnteries; i++) {
+        CapBankSupplyEntry entry = enteries[i];
         if(entry.emmiter.getConnectionMode(entry.direction) == ConnectionMode.IN_OUT) {
           entry.calcToBalance(filledRatio);
           if(entry.toBalance < 0) {
@@ -425,8 +541,8 @@ public class NetworkPowerManager {
 
       int toalTransferAmount = Math.min(canAdd, canRemove);
 
-      for (int i = 0; i < enteries.size() && toalTransferAmount > 0; i++) {
-        CapBankSupplyEntry from = enteries.get(i);
+      for (int i = 0; i < numEnteries && toalTransferAmount > 0; i++) {
+        CapBankSupplyEntry from = enteries[i];
         if(from.emmiter.getConnectionMode(from.direction) == ConnectionMode.IN_OUT) {
 
           int amount = from.toBalance;
@@ -435,8 +551,8 @@ public class NetworkPowerManager {
           toalTransferAmount -= Math.abs(amount);
           int toTranfser = Math.abs(amount);
 
-          for (int j = i + 1; j < enteries.size() && toTranfser > 0; j++) {
-            CapBankSupplyEntry to = enteries.get(j);
+          for (int j = i + 1; j < numEnteries && toTranfser > 0; j++) {
+            CapBankSupplyEntry to = enteries[j];
             if(Math.signum(amount) != Math.signum(to.toBalance)) {
               int toAmount = Math.min(toTranfser, Math.abs(to.toBalance));
               to.capBank.addEnergy(toAmount * (int) Math.signum(to.toBalance));
@@ -454,7 +570,8 @@ public class NetworkPowerManager {
       }
       double ratio = (double) amount / canExtract;
 
-      for (CapBankSupplyEntry entry : enteries) {
+      for (int i = 0; i < numEnteries; i++) {
+        CapBankSupplyEntry entry = enteries[i];
         long use = (int) Math.ceil(ratio * entry.canExtract);
         use = Math.min(use, amount);
         use = Math.min(use, entry.canExtract);
@@ -475,7 +592,8 @@ public class NetworkPowerManager {
       }
       double ratio = (double) amount / canFill;
 
-      for (CapBankSupplyEntry entry : enteries) {
+      for (int i = 0; i < numEnteries; i++) {
+        CapBankSupplyEntry entry = enteries[i];
         long add = (int) Math.ceil(ratio * entry.canFill);
         add = Math.min(add, entry.canFill);
         add = Math.min(add, amount);
@@ -494,19 +612,22 @@ public class NetworkPowerManager {
 
   private static class CapBankSupplyEntry {
 
-    final IPowerStorage capBank;
-    final int canExtract;
-    final int canFill;
+    IPowerStorage capBank;
+    int canExtract;
+    int canFill;
     int toBalance;
-    IPowerConduit emmiter;
-    ForgeDirection direction;
+    final IPowerConduit emmiter;
+    final ForgeDirection direction;
 
-    private CapBankSupplyEntry(IPowerStorage capBank, int available, int canFill, IPowerConduit emmiter, ForgeDirection direction) {
+    private CapBankSupplyEntry(IPowerConduit emmiter, ForgeDirection direction) {
+      this.emmiter = emmiter;
+      this.direction = direction;
+    }
+
+    void set(IPowerStorage capBank, int available, int canFill) {
       this.capBank = capBank;
       canExtract = available;
       this.canFill = canFill;
-      this.emmiter = emmiter;
-      this.direction = direction;
     }
 
     void calcToBalance(double targetRatio) {
@@ -355,6 +355,7 @@ public class PowerConduit extends AbstractConduit implements IPowerConduit {
     redstoneStateDirty = true;
     if(network != null && network.powerManager != null) {
       network.powerManager.receptorsChanged();
+      network.powerManager.wakeReceptors(this);
     }
     return super.onNeighborBlockChange(blockId);
   }
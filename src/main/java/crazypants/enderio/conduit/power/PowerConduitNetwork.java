@@ -3,6 +3,7 @@ package crazypants.enderio.conduit.power;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -11,7 +12,7 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 import crazypants.enderio.conduit.AbstractConduitNetwork;
-import crazypants.enderio.conduit.IConduit;
+import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
 import crazypants.enderio.conduit.IConduitBundle;
 import crazypants.enderio.power.IPowerInterface;
 import crazypants.util.BlockCoord;
@@ -24,8 +25,6 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
 
   private Map<ReceptorKey, ReceptorEntry> powerReceptors = new HashMap<ReceptorKey, ReceptorEntry>();
 
-  private long timeAtLastApply = -1;
-
   public PowerConduitNetwork() {
     super(IPowerConduit.class);
   }
@@ -35,6 +34,12 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
     super.init(tile, connections, world);
     powerManager = new NetworkPowerManager(this, world);
     powerManager.receptorsChanged();
+    startTicking();
+  }
+
+  @Override
+  protected TickListener getTickListener() {
+    return powerManager == null ? null : powerManager.getTickListener();
   }
 
   @Override
@@ -64,10 +69,25 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
       }
     }
     if(powerManager != null) {
+      powerManager.conduitsChanged();
       con.setActive(powerManager.isActive());
     }
   }
 
+  @Override
+  protected void conduitRemoved(IPowerConduit con) {
+    Iterator<ReceptorEntry> it = powerReceptors.values().iterator();
+    while (it.hasNext()) {
+      if(it.next().emmiter == con) {
+        it.remove();
+      }
+    }
+    con.setActive(false);
+    if(powerManager != null) {
+      powerManager.conduitRemoved(con);
+    }
+  }
+
   @Override
   public Class<IPowerConduit> getBaseConduitType() {
     return IPowerConduit.class;
@@ -107,22 +127,6 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
     return powerReceptors.values();
   }
 
-  @Override
-  public void onUpdateEntity(IConduit conduit) {
-    World world = conduit.getBundle().getEntity().getWorldObj();
-    if(world == null) {
-      return;
-    }
-    if(world.isRemote) {
-      return;
-    }
-    long curTime = world.getTotalWorldTime();
-    if(curTime != timeAtLastApply) {
-      timeAtLastApply = curTime;
-      powerManager.applyRecievedPower();
-    }
-  }
-
   public static class ReceptorEntry {
 
     IPowerConduit emmiter;
@@ -131,6 +135,11 @@ public class PowerConduitNetwork extends AbstractConduitNetwork<IPowerConduit, I
 
     IPowerInterface powerInterface;
 
+    //world time before which the receptor is not offered energy, and the
+    //current wait, both set when it refuses energy
+    long nextOffer;
+    int backoff;
+
     public ReceptorEntry(IPowerInterface powerReceptor, BlockCoord coord, IPowerConduit emmiter, ForgeDirection direction) {
       powerInterface = powerReceptor;
       this.coord = coord;
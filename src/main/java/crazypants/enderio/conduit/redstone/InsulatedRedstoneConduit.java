@@ -189,14 +189,11 @@ public class InsulatedRedstoneConduit extends RedstoneConduit implements IInsula
             BlockCoord loc = getLocation().getLocation(connDir);
             IRedstoneConduit neighbour = ConduitUtil.getConduit(getBundle().getEntity().getWorldObj(), loc.x, loc.y, loc.z, IRedstoneConduit.class);
             if(neighbour != null) {
-              if(network != null) {
-                network.destroyNetwork();
-              }
-              if(neighbour.getNetwork() != null) {
-                neighbour.getNetwork().destroyNetwork();
-              }
               neighbour.conduitConnectionRemoved(connDir.getOpposite());
               conduitConnectionRemoved(connDir);
+              if(network != null && network == neighbour.getNetwork()) {
+                network.connectionRemoved(this, neighbour);
+              }
               updateNetwork();
               neighbour.updateNetwork();
               return true;
@@ -415,6 +412,17 @@ public class InsulatedRedstoneConduit extends RedstoneConduit implements IInsula
     setConnectionMode(fromDirection, ConnectionMode.NOT_SET);
   }
 
+  @Override
+  protected int getNetworkOutputStrength(ForgeDirection side) {
+    if(side == null || side == ForgeDirection.UNKNOWN) {
+      return super.getNetworkOutputStrength(side);
+    }
+    if(network == null || getConnectionMode(side) != ConnectionMode.IN_OUT) {
+      return 0;
+    }
+    return network.getSignalStrength(getSignalColor(side));
+  }
+
   @Override
   public Set<Signal> getNetworkOutputs(ForgeDirection side) {
     if(side == null || side == ForgeDirection.UNKNOWN) {
@@ -200,8 +200,11 @@ public class RedstoneConduit extends AbstractConduit implements IRedstoneConduit
   public void updateEntity(World world) {
     super.updateEntity(world);
     if(!world.isRemote && neighbourDirty) {
-      network.destroyNetwork();
-      updateNetwork(world);
+      if(network != null) {
+        network.updateInputs(this);
+      } else {
+        updateNetwork(world);
+      }
       neighbourDirty = false;
     }
   }
@@ -254,11 +257,14 @@ public class RedstoneConduit extends AbstractConduit implements IRedstoneConduit
     if(network == null || !network.isNetworkEnabled()) {
       return 0;
     }
-    int result = 0;
-    for (Signal signal : getNetworkOutputs(toDirection.getOpposite())) {
-      result = Math.max(result, signal.strength);
-    }
-    return result;
+    return getNetworkOutputStrength(toDirection.getOpposite());
+  }
+
+  /**
+   * The strength of the strongest signal in {@link #getNetworkOutputs(ForgeDirection)}.
+   */
+  protected int getNetworkOutputStrength(ForgeDirection side) {
+    return network.getSignalStrength();
   }
 
   @Override
@@ -4,23 +4,43 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
+import net.minecraftforge.common.util.ForgeDirection;
+import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
 import crazypants.enderio.EnderIO;
 import crazypants.enderio.conduit.AbstractConduitNetwork;
+import crazypants.enderio.conduit.ConduitNetworkTickHandler;
+import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
 import crazypants.enderio.conduit.IConduitBundle;
+import crazypants.enderio.config.Config;
+import crazypants.util.BlockCoord;
+import crazypants.util.DyeColor;
 
 public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneConduit, IRedstoneConduit> {
 
   private final Set<Signal> signals = new HashSet<Signal>();
 
+  //strongest signal of each color and over all, null when the signals have changed
+  private int[] colorStrengths;
+  private int maxStrength;
+
   boolean updatingNetwork = false;
 
   private boolean networkEnabled = true;
 
+  //conduits whose neighbours are told of signal changes at the end of the tick
+  private final Set<IRedstoneConduit> pendingNotifications = new LinkedHashSet<IRedstoneConduit>();
+  private boolean notifyAllPending;
+  private boolean flushScheduled;
+  private final TickListener flushCallback = new NotificationFlusher();
+  private final Set<BlockCoord> notified = new HashSet<BlockCoord>();
+
   public RedstoneConduitNetwork() {
     super(IRedstoneConduit.class);
   }
@@ -44,12 +64,18 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
     for (IRedstoneConduit con : conduits) {
       con.setActive(false);
     }
-    // Notify neighbours that all signals have been lost
-    List<Signal> copy = new ArrayList<Signal>(signals);
-    signals.clear();
-    for (Signal s : copy) {
-      notifyNeigborsOfSignalUpdate(s);
+    // Notify neighbours that all signals have been lost. This can't wait for
+    // the end of the tick as the network is gone by then.
+    if(!signals.isEmpty()) {
+      signals.clear();
+      signalsChanged();
+      notifyAllPending = true;
     }
+    if(flushScheduled) {
+      ConduitNetworkTickHandler.instance.removeListener(flushCallback);
+      flushScheduled = false;
+    }
+    flushNotifications(0);
     updatingNetwork = false;
     super.destroyNetwork();
   }
@@ -59,18 +85,65 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
     updatingNetwork = true;
     super.addConduit(con);
     Set<Signal> newInputs = con.getNetworkInputs();
-    signals.addAll(newInputs);
+    if(signals.addAll(newInputs)) {
+      signalsChanged();
+    }
     // Notify existing nodes of new signals
-    for (Signal signal : newInputs) {
-      notifyNeigborsOfSignalUpdate(signal);
+    if(!newInputs.isEmpty()) {
+      notifyNeigborsOfSignalUpdate(null);
     }
     // and new nodes neighbours of all signals
-    for (Signal signal : signals) {
-      notifyConduitNeighbours(con, signal);
+    if(!signals.isEmpty()) {
+      queueNotification(con);
+    }
+    updatingNetwork = false;
+  }
+
+  @Override
+  protected void conduitRemoved(IRedstoneConduit con) {
+    con.setActive(false);
+    List<Signal> lost = getSignalsFrom(con.getLocation());
+    if(!lost.isEmpty()) {
+      updatingNetwork = true;
+      signals.removeAll(lost);
+      signalsChanged();
+      notifyNetworkOfUpdate();
+      notifyNeigborsOfSignalUpdate(null);
+      updatingNetwork = false;
+    }
+    pendingNotifications.remove(con);
+  }
+
+  /**
+   * Re-reads the signals entering the network through con and, if they
+   * changed, swaps them in without rebuilding the network.
+   */
+  public void updateInputs(IRedstoneConduit con) {
+    Set<Signal> inputs = con.getNetworkInputs();
+    List<Signal> current = getSignalsFrom(con.getLocation());
+    if(current.size() == inputs.size() && inputs.containsAll(current)) {
+      return;
     }
+    updatingNetwork = true;
+    signals.removeAll(current);
+    signals.addAll(inputs);
+    signalsChanged();
+    notifyNetworkOfUpdate();
+    notifyNeigborsOfSignalUpdate(null);
     updatingNetwork = false;
   }
 
+  // the signals that entered the network through the conduit at loc
+  private List<Signal> getSignalsFrom(BlockCoord loc) {
+    List<Signal> res = new ArrayList<Signal>();
+    for (Signal signal : signals) {
+      if(signal.dir != null && signal.x - signal.dir.offsetX == loc.x && signal.y - signal.dir.offsetY == loc.y && signal.z - signal.dir.offsetZ == loc.z) {
+        res.add(signal);
+      }
+    }
+    return res;
+  }
+
   public Set<Signal> getSignals() {
     if(networkEnabled) {
       return signals;
@@ -90,6 +163,48 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
     return networkEnabled;
   }
 
+  /**
+   * The strongest signal on the network, or 0 if it is disabled.
+   */
+  public int getSignalStrength() {
+    if(!networkEnabled) {
+      return 0;
+    }
+    updateStrengths();
+    return maxStrength;
+  }
+
+  /**
+   * The strongest signal of the color on the network, or 0 if it is disabled.
+   */
+  public int getSignalStrength(DyeColor color) {
+    if(!networkEnabled || color == null) {
+      return 0;
+    }
+    updateStrengths();
+    return colorStrengths[color.ordinal()];
+  }
+
+  private void updateStrengths() {
+    if(colorStrengths != null) {
+      return;
+    }
+    int[] res = new int[DyeColor.values().length];
+    int max = 0;
+    for (Signal signal : signals) {
+      if(signal.color != null) {
+        res[signal.color.ordinal()] = Math.max(res[signal.color.ordinal()], signal.strength);
+      }
+      max = Math.max(max, signal.strength);
+    }
+    colorStrengths = res;
+    maxStrength = max;
+  }
+
+  private void signalsChanged() {
+    colorStrengths = null;
+  }
+
   public void addSignals(Set<Signal> newSignals) {
     for (Signal signal : newSignals) {
       addSignal(signal);
@@ -99,6 +214,7 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
   public void addSignal(Signal signal) {
     updatingNetwork = true;
     signals.add(signal);
+    signalsChanged();
     notifyNetworkOfUpdate();
     notifyNeigborsOfSignalUpdate(signal);
     updatingNetwork = false;
@@ -113,6 +229,7 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
   public void removeSignal(Signal signal) {
     updatingNetwork = true;
     signals.remove(signal);
+    signalsChanged();
     notifyNetworkOfUpdate();
     notifyNeigborsOfSignalUpdate(signal);
     updatingNetwork = false;
@@ -122,6 +239,7 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
     updatingNetwork = true;
     signals.remove(oldSig);
     signals.add(newSig);
+    signalsChanged();
     notifyNetworkOfUpdate();
     notifyNeigborsOfSignalUpdate(newSig);
     updatingNetwork = false;
@@ -135,6 +253,12 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
     super.notifyNetworkOfUpdate();
   }
 
+  @Override
+  public void notifyConduitOfUpdate(IRedstoneConduit con) {
+    con.setActive(!getSignals().isEmpty());
+    super.notifyConduitOfUpdate(con);
+  }
+
   @Override
   public String toString() {
     return "RedstoneConduitNetwork [signals=" + signalsString() + ", conduits=" + conduitsString() + "]";
@@ -163,19 +287,55 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
   }
 
   public void notifyNeigborsOfSignals() {
-    for (Signal signal : signals) {
-      notifyNeigborsOfSignalUpdate(signal);
+    if(!signals.isEmpty()) {
+      notifyNeigborsOfSignalUpdate(null);
     }
   }
 
+  /**
+   * Queues a neighbour update around every conduit in the network. Updates are
+   * sent once per block at the end of the tick however many signals changed.
+   */
   public void notifyNeigborsOfSignalUpdate(Signal signal) {
-    ArrayList<IRedstoneConduit> conduitsCopy = new ArrayList<IRedstoneConduit>(conduits);
-    for (IRedstoneConduit con : conduitsCopy) {
-      notifyConduitNeighbours(con, signal);
+    notifyAllPending = true;
+    scheduleFlush();
+  }
+
+  private void queueNotification(IRedstoneConduit con) {
+    if(!notifyAllPending) {
+      pendingNotifications.add(con);
+    }
+    scheduleFlush();
+  }
+
+  private void scheduleFlush() {
+    if(!flushScheduled) {
+      flushScheduled = true;
+      ConduitNetworkTickHandler.instance.addListener(flushCallback);
+    }
+  }
+
+  /**
+   * Sends the queued neighbour updates, from at most limit blocks if limit is
+   * greater than 0. Returns true if there are updates left over.
+   */
+  private boolean flushNotifications(int limit) {
+    if(notifyAllPending) {
+      pendingNotifications.addAll(conduits);
+      notifyAllPending = false;
     }
+    notified.clear();
+    Iterator<IRedstoneConduit> it = pendingNotifications.iterator();
+    while (it.hasNext() && (limit <= 0 || notified.size() < limit)) {
+      IRedstoneConduit con = it.next();
+      it.remove();
+      notifyConduitNeighbours(con);
+    }
+    notified.clear();
+    return !pendingNotifications.isEmpty();
   }
 
-  private void notifyConduitNeighbours(IRedstoneConduit con, Signal signal) {
+  private void notifyConduitNeighbours(IRedstoneConduit con) {
     if(con.getBundle() == null) {
       System.out.println("RedstoneConduitNetwork.notifyNeigborsOfSignalUpdate: NULL BUNDLE!!!!");
       return;
@@ -183,30 +343,42 @@ public class RedstoneConduitNetwork extends AbstractConduitNetwork<IRedstoneCond
     TileEntity te = con.getBundle().getEntity();
 
     World worldObj = te.getWorldObj();
-    worldObj.notifyBlocksOfNeighborChange(te.xCoord, te.yCoord, te.zCoord, EnderIO.blockConduitBundle);
+    notifyBlock(worldObj, te.xCoord, te.yCoord, te.zCoord);
 
     // Need to notify neighbours neighbours for changes to  signals
-    if(signal != null /*&& signal.strength >= 15 && signal.x == te.xCoord && signal.y == te.yCoord && signal.z == te.zCoord*/) {
-      if(worldObj.getBlock(te.xCoord + 1, te.yCoord, te.zCoord).isNormalCube()) {
-        worldObj.notifyBlocksOfNeighborChange(te.xCoord + 1, te.yCoord, te.zCoord,  EnderIO.blockConduitBundle);
-      }
-      if(worldObj.getBlock(te.xCoord - 1, te.yCoord, te.zCoord).isNormalCube()) {
-        worldObj.notifyBlocksOfNeighborChange(te.xCoord - 1, te.yCoord, te.zCoord, EnderIO.blockConduitBundle);
-      }
-      if(worldObj.getBlock(te.xCoord, te.yCoord + 1, te.zCoord).isNormalCube()) {
-        worldObj.notifyBlocksOfNeighborChange(te.xCoord, te.yCoord + 1, te.zCoord, EnderIO.blockConduitBundle);
-      }
-      if(worldObj.getBlock(te.xCoord, te.yCoord - 1, te.zCoord).isNormalCube()) {
-        worldObj.notifyBlocksOfNeighborChange(te.xCoord, te.yCoord - 1, te.zCoord, EnderIO.blockConduitBundle);
-      }
-      if(worldObj.getBlock(te.xCoord, te.yCoord, te.zCoord + 1).isNormalCube()) {
-        worldObj.notifyBlocksOfNeighborChange(te.xCoord, te.yCoord, te.zCoord + 1, EnderIO.blockConduitBundle);
-      }
-      if(worldObj.getBlock(te.xCoord, te.yCoord, te.zCoord - 1).isNormalCube()) {
-        worldObj.notifyBlocksOfNeighborChange(te.xCoord, te.yCoord, te.zCoord - 1, EnderIO.blockConduitBundle);
+    for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
+      int x = te.xCoord + dir.offsetX;
+      int y = te.yCoord + dir.offsetY;
+      int z = te.zCoord + dir.offsetZ;
+      if(worldObj.getBlock(x, y, z).isNormalCube()) {
+        notifyBlock(worldObj, x, y, z);
       }
     }
 
   }
 
+  private void notifyBlock(World worldObj, int x, int y, int z) {
+    if(notified.add(new BlockCoord(x, y, z))) {
+      worldObj.notifyBlocksOfNeighborChange(x, y, z, EnderIO.blockConduitBundle);
+    }
+  }
+
+  private class NotificationFlusher implements TickListener {
+
+    @Override
+    public void tickStart(ServerTickEvent evt) {
+    }
+
+    @Override
+    public void tickEnd(ServerTickEvent evt) {
+      flushScheduled = false;
+      updatingNetwork = true;
+      boolean more = flushNotifications(Config.redstoneConduitMaxNotificationsPerTick);
+      updatingNetwork = false;
+      if(more) {
+        scheduleFlush();
+      }
+    }
+  }
+
 }
@@ -105,6 +105,13 @@ public final class Config {
   public static boolean useSneakRightClickYetaWrench = false;
 
   public static boolean itemConduitUsePhyscialDistance = false;
+  public static int itemConduitMaxIdleSleepTicks = 320;
+
+  public static int powerConduitMaxReceptorBackoffTicks = 20;
+
+  public static int redstoneConduitMaxNotificationsPerTick = 1024;
+
+  public static int conduitNetworkTickBudgetMicros = 0;
 
   public static int enderFluidConduitExtractRate = 200;
   public static int enderFluidConduitMaxIoRate = 800;
@@ -267,6 +274,7 @@ public final class Config {
   public static boolean farmEssenceBerriesEnabled = true;
   public static boolean farmManaBeansEnabled = false;
   public static boolean farmHarvestJungleWhenCocoa = false;
+  public static int farmMaxIdleRevisitTicks = 400;
   public static String[] hoeStrings = new String[] { 
     "minecraft:wooden_hoe", "minecraft:stone_hoe", "minecraft:iron_hoe", "minecraft:diamond_hoe", "minecraft:golden_hoe",
     "MekanismTools:ObsidianHoe", "MekanismTools:LapisLazuliHoe", "MekanismTools:OsmiumHoe", "MekanismTools:BronzeHoe", "MekanismTools:GlowstoneHoe", "MekanismTools:SteelHoe",
@@ -283,6 +291,7 @@ public final class Config {
   public static int magnetPowerUsePerSecondRF = 1;
   public static int magnetPowerCapacityRF = 100000;
   public static int magnetRange = 5;
+  public static boolean magnetCoalesceItems = false;
 
   public static boolean useCombustionGenModel = false;
 
@@ -316,6 +325,7 @@ public final class Config {
   public static int painterEnergyPerTaskRF = 2000;
 
   public static double vacuumChestRange = 6;
+  public static boolean vacuumChestCoalesceItems = false;
 
   public static boolean useModMetals = true;
 
@@ -630,7 +640,31 @@ public final class Config {
         "'line of sight' distance rather than conduit path distance is used to calculate priorities.")
         .getBoolean(itemConduitUsePhyscialDistance);
 
+    itemConduitMaxIdleSleepTicks = config.get(sectionEfficiency.name, "itemConduitMaxIdleSleepTicks", itemConduitMaxIdleSleepTicks,
+        "The maximum number of ticks an item conduit will wait before checking an inventory it could not extract from again. The wait doubles "
+            + "after each failed check, starting at 20 ticks, and is reset when the inventory changes.")
+        .getInt(itemConduitMaxIdleSleepTicks);
+
+    powerConduitMaxReceptorBackoffTicks = config.get(sectionEfficiency.name, "powerConduitMaxReceptorBackoffTicks", powerConduitMaxReceptorBackoffTicks,
+        "The maximum number of ticks a power conduit will wait before offering energy again to a machine that refused it. The wait doubles "
+            + "after each refusal, starting at 1 tick, and is reset when the machine accepts energy or a neighbour of the conduit changes. "
+            + "Set to 0 to offer energy every tick.")
+        .getInt(powerConduitMaxReceptorBackoffTicks);
+
+    redstoneConduitMaxNotificationsPerTick = config.get(sectionEfficiency.name, "redstoneConduitMaxNotificationsPerTick", redstoneConduitMaxNotificationsPerTick,
+        "The maximum number of blocks a redstone conduit network will send neighbour updates from each tick after its signals change. "
+            + "Updates over the limit are sent on the following ticks. Set to 0 for no limit.")
+        .getInt(redstoneConduitMaxNotificationsPerTick);
+
+    conduitNetworkTickBudgetMicros = config.get(sectionEfficiency.name, "conduitNetworkTickBudgetMicros", conduitNetworkTickBudgetMicros,
+        "The maximum time, in microseconds, conduit and capacitor bank networks may use each server tick. Networks that do not get to run "
+            + "are the first to run on the next tick. Set to 0 for no limit.")
+        .getInt(conduitNetworkTickBudgetMicros);
+
     vacuumChestRange = config.get(sectionEfficiency.name, "vacumChestRange", vacuumChestRange, "The range of the vacuum chest").getDouble(vacuumChestRange);
+    vacuumChestCoalesceItems = config.get(sectionEfficiency.name, "vacuumChestCoalesceItems", vacuumChestCoalesceItems,
+        "When true the vacuum chest takes items in range straight into its inventory, and merges those that do not fit into fewer stacks, "
+            + "instead of pulling each one in.").getBoolean(vacuumChestCoalesceItems);
 
     if(!useSneakMouseWheelYetaWrench && !useSneakRightClickYetaWrench) {
       Log.warn("Both useSneakMouseWheelYetaWrench and useSneakRightClickYetaWrench are set to false. Enabling mouse wheel.");
@@ -948,6 +982,10 @@ public final class Config {
     farmHarvestJungleWhenCocoa = config.get(sectionFarm.name, "farmHarvestJungleWhenCocoa", farmHarvestJungleWhenCocoa,
         "If this is enabled the farm will harvest jungle wood even if it has cocoa beans in its inventory.").getBoolean();    
 
+    farmMaxIdleRevisitTicks = config.get(sectionFarm.name, "farmMaxIdleRevisitTicks", farmMaxIdleRevisitTicks,
+        "The maximum number of ticks a farm waits before checking a block again where it found nothing to do. The wait starts at 20 ticks "
+            + "and doubles each time nothing is found. Set to 0 to check every block on each pass.").getInt(farmMaxIdleRevisitTicks);
+
     hoeStrings = config.get(sectionFarm.name, "farmHoes", hoeStrings,
         "Use this to specify items that can be hoes in the farming station. Use the registry name (eg. modid:name).").getStringList();
 
@@ -960,6 +998,9 @@ public final class Config {
         "Amount of RF power stored in a fully charged magnet").getInt(magnetPowerCapacityRF);
     magnetRange = config.get(sectionMagnet.name, "magnetRange", magnetRange,
         "Range of the magnet in blocks.").getInt(magnetRange);
+    magnetCoalesceItems = config.get(sectionMagnet.name, "magnetCoalesceItems", magnetCoalesceItems,
+        "When true the magnet picks up items and xp in range straight away, and merges items that can not be picked up into fewer stacks, "
+            + "instead of pulling each one in.").getBoolean(magnetCoalesceItems);
 
     useCombustionGenModel = config.get(sectionAesthetic.name, "useCombustionGenModel", useCombustionGenModel,
         "If set to true: WIP Combustion Generator model will be used").getBoolean(useCombustionGenModel);
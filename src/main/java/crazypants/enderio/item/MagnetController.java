@@ -1,5 +1,6 @@
 package crazypants.enderio.item;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.command.IEntitySelector;
@@ -13,9 +14,15 @@ import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import cpw.mods.fml.common.gameevent.TickEvent;
 import cpw.mods.fml.relauncher.Side;
 import crazypants.enderio.config.Config;
+import crazypants.util.EntityScanService;
+import crazypants.util.ItemUtil;
 
 public class MagnetController implements IEntitySelector {
 
+  //the controller is shared by the client and server threads, so each side gets its own list
+  private final List<Entity> clientTargets = new ArrayList<Entity>();
+  private final List<Entity> serverTargets = new ArrayList<Entity>();
+
   @SubscribeEvent
   public void onPlayerTick(TickEvent.PlayerTickEvent event) {
     
@@ -46,13 +53,22 @@ public class MagnetController implements IEntitySelector {
         player.posX - Config.magnetRange, player.posY - Config.magnetRange, player.posZ - Config.magnetRange,
         player.posX + Config.magnetRange, player.posY + Config.magnetRange, player.posZ + Config.magnetRange);
         
-    List<Entity> interestingItems = player.worldObj.selectEntitiesWithinAABB(EntityItem.class, aabb, this);        
-    List<Entity> xp = player.worldObj.selectEntitiesWithinAABB(EntityXPOrb.class, aabb, this);
-    if(xp != null) {
-      interestingItems.addAll(xp);
+    List<Entity> interestingItems = player.worldObj.isRemote ? clientTargets : serverTargets;
+    EntityScanService.instance.getEntities(player.worldObj, EntityItem.class, aabb, this, interestingItems);
+    EntityScanService.instance.getEntities(player.worldObj, EntityXPOrb.class, aabb, this, interestingItems);
+
+    if(Config.magnetCoalesceItems && !player.worldObj.isRemote) {
+      //pick up all we can straight away, and merge what is left so there are fewer entities to pull in
+      for (Entity entity : interestingItems) {
+        entity.onCollideWithPlayer(player);
+      }
+      ItemUtil.coalesceEntityItems(interestingItems);
     }
 
     for (Entity entity : interestingItems) {
+      if(entity.isDead) {
+        continue;
+      }
       double x = player.posX + 0.5D - entity.posX;
       double y = player.posY + 1D - entity.posY;
       double z = player.posZ + 0.5D - entity.posZ;
@@ -71,6 +87,7 @@ public class MagnetController implements IEntitySelector {
       }
 
     }
+    interestingItems.clear();
   }
 
   @Override
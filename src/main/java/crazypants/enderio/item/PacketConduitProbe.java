@@ -235,6 +235,15 @@ public class PacketConduitProbe implements IMessage, IMessageHandler<PacketCondu
 
       }
     }
+    ItemConduitNetwork network = (ItemConduitNetwork) conduit.getNetwork();
+    if(network != null) {
+      sb.append(Lang.localize("gui.mjReader.extractionScans"));
+      sb.append(" ");
+      sb.append(network.getExtractionScansPerformed());
+      sb.append("/");
+      sb.append(network.getExtractionScansSkipped());
+      sb.append("\n");
+    }
     String[] lines = sb.toString().split("\n");
     for(String line : lines) {
       player.addChatComponentMessage(new ChatComponentText(line));
@@ -277,10 +277,9 @@ public abstract class AbstractMachineEntity extends TileEntityEio implements ISi
 
     if(requiresClientSync) {
 
-      // this will cause 'getPacketDescription()' to be called and its result
-      // will be sent to the PacketHandler on the other end of
-      // client/server connection
-      worldObj.markBlockForUpdate(xCoord, yCoord, zCoord);
+      // only the parts of the tile that changed are sent, the client
+      // re-renders the block when they arrive
+      syncChangesToClients();
       // And this will make sure our current tile entity state is saved
       markDirty();
     }
@@ -1,9 +1,11 @@
 package crazypants.enderio.machine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.util.ForgeDirection;
@@ -23,6 +25,13 @@ public abstract class AbstractPoweredTaskEntity extends AbstractPowerConsumerEnt
   
   protected int lastProgressScaled = -1;
 
+  //how often, over all machines, the last matched recipe could be reused
+  private static long recipeCacheHits;
+  private static long recipeCacheMisses;
+
+  private int[] lastRecipeInputKey;
+  private IMachineRecipe lastMatchedRecipe;
+
   public AbstractPoweredTaskEntity(SlotDefinition slotDefinition) {
     super(slotDefinition);
   }
@@ -262,8 +271,59 @@ public abstract class AbstractPoweredTaskEntity extends AbstractPowerConsumerEnt
     return res;
   }
 
+  /**
+   * Finds the recipe for the inputs, reusing the last match while the inputs
+   * hold the same items, damage and NBT and the recipe still accepts them.
+   * Stack sizes are left out of the key so a production line keeps hitting
+   * the cache as its inputs are used up.
+   */
+  protected IMachineRecipe getRecipeForInputs(MachineRecipeInput[] inputs) {
+    int[] key = getRecipeInputKey(inputs);
+    if(lastMatchedRecipe != null && Arrays.equals(key, lastRecipeInputKey) && lastMatchedRecipe.isRecipe(inputs)) {
+      recipeCacheHits++;
+      return lastMatchedRecipe;
+    }
+    recipeCacheMisses++;
+    lastMatchedRecipe = MachineRecipeRegistry.instance.getRecipeForInputs(getMachineName(), inputs);
+    lastRecipeInputKey = key;
+    return lastMatchedRecipe;
+  }
+
+  private static int[] getRecipeInputKey(MachineRecipeInput[] inputs) {
+    int[] res = new int[inputs.length * 3];
+    for (int i = 0; i < inputs.length; i++) {
+      MachineRecipeInput in = inputs[i];
+      if(in == null) {
+        continue;
+      }
+      if(in.item != null) {
+        res[i * 3] = Item.getIdFromItem(in.item.getItem());
+        res[i * 3 + 1] = in.item.getItemDamage();
+        res[i * 3 + 2] = in.item.stackTagCompound == null ? 0 : in.item.stackTagCompound.hashCode();
+      } else if(in.fluid != null) {
+        res[i * 3] = -1;
+        res[i * 3 + 1] = in.fluid.fluidID;
+        res[i * 3 + 2] = in.fluid.tag == null ? 0 : in.fluid.tag.hashCode();
+      }
+    }
+    return res;
+  }
+
+  public static long getRecipeCacheHits() {
+    return recipeCacheHits;
+  }
+
+  public static long getRecipeCacheMisses() {
+    return recipeCacheMisses;
+  }
+
+  public static float getRecipeCacheHitRatio() {
+    long total = recipeCacheHits + recipeCacheMisses;
+    return total == 0 ? 0 : recipeCacheHits / (float) total;
+  }
+
   protected IMachineRecipe canStartNextTask(float chance) {
-    IMachineRecipe nextRecipe = MachineRecipeRegistry.instance.getRecipeForInputs(getMachineName(), getRecipeInputs());
+    IMachineRecipe nextRecipe = getRecipeForInputs(getRecipeInputs());
     if(nextRecipe == null) {
       return null; // no template
     }
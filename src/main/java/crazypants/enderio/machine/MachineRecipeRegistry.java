@@ -15,8 +15,11 @@ public class MachineRecipeRegistry {
 
   private final Map<String, Map<String, IMachineRecipe>> machineRecipes = new HashMap<String, Map<String, IMachineRecipe>>();
 
+  private final Map<String, IMachineRecipe> recipesByUid = new HashMap<String, IMachineRecipe>();
+
   public void registerRecipe(String machine, IMachineRecipe recipe) {
     getRecipesForMachine(machine).put(recipe.getUid(), recipe);    
+    recipesByUid.put(recipe.getUid(), recipe);
   }
 
   public Map<String, IMachineRecipe> getRecipesForMachine(String machineName) {
@@ -32,14 +35,7 @@ public class MachineRecipeRegistry {
     if(uid == null) {
       return null;
     }
-    for (Map<String, IMachineRecipe> recipes : machineRecipes.values()) {
-      for (IMachineRecipe recipe : recipes.values()) {
-        if(uid.equals(recipe.getUid())) {
-          return recipe;
-        }
-      }
-    }
-    return null;
+    return recipesByUid.get(uid);
   }
 
   public IMachineRecipe getRecipeForInputs(String machineName, MachineRecipeInput... inputs) {
@@ -72,7 +72,7 @@ public class TileAlloySmelter extends AbstractPoweredTaskEntity {
       return null;
     }
 
-    IMachineRecipe nextRecipe = MachineRecipeRegistry.instance.getRecipeForInputs(getMachineName(), getRecipeInputs());
+    IMachineRecipe nextRecipe = getRecipeForInputs(getRecipeInputs());
     if(mode == Mode.ALLOY && nextRecipe instanceof VanillaSmeltingRecipe) {
       nextRecipe = null;
     }
@@ -43,6 +43,7 @@ import crazypants.enderio.power.Capacitors;
 import crazypants.enderio.power.ICapacitor;
 import crazypants.render.BoundingBox;
 import crazypants.util.BlockCoord;
+import crazypants.util.EntityScanService;
 import crazypants.vecmath.Vector3d;
 
 public class TileAttractor extends AbstractPowerConsumerEntity implements IRanged {
@@ -53,6 +54,7 @@ public class TileAttractor extends AbstractPowerConsumerEntity implements IRange
   private int range;
   private int powerPerTick;
   private Set<EntityLiving> tracking = new HashSet<EntityLiving>();
+  private final List<EntityLiving> entsInBounds = new ArrayList<EntityLiving>();
   private int tickCounter = 0;
   private int maxMobsAttracted = 20;
 
@@ -175,7 +177,7 @@ public class TileAttractor extends AbstractPowerConsumerEntity implements IRange
     tickCounter = 0;
 
     Set<EntityLiving> trackingThisTick = new HashSet<EntityLiving>();
-    List<EntityLiving> entsInBounds = worldObj.getEntitiesWithinAABB(EntityLiving.class, attractorBounds);
+    EntityScanService.instance.getEntities(worldObj, EntityLiving.class, attractorBounds, null, entsInBounds);
 
     int candidates = 0;
     for (EntityLiving ent : entsInBounds) {
@@ -189,6 +191,7 @@ public class TileAttractor extends AbstractPowerConsumerEntity implements IRange
         }
       }
     }
+    entsInBounds.clear();
     tracking.clear();
     tracking = trackingThisTick;
     return false;
@@ -28,6 +28,7 @@ import crazypants.enderio.machine.IIoConfigurable;
 import crazypants.enderio.machine.IoMode;
 import crazypants.enderio.machine.RedstoneControlMode;
 import crazypants.enderio.machine.capbank.network.CapBankClientNetwork;
+import crazypants.enderio.machine.capbank.network.CapBankNetwork;
 import crazypants.enderio.machine.capbank.network.ClientNetworkManager;
 import crazypants.enderio.machine.capbank.network.EnergyReceptor;
 import crazypants.enderio.machine.capbank.network.ICapBankNetwork;
@@ -602,6 +603,17 @@ public class TileCapBank extends TileEntityEio implements IInternalPowerHandler,
 
   @Override
   public int getEnergyStored() {
+    if(network instanceof CapBankNetwork) {
+      return ((CapBankNetwork) network).getEnergyStored(this);
+    }
+    return energyStored;
+  }
+
+  /**
+   * The energy held by this block itself. Only up to date while it is not part
+   * of a network, as the network keeps the energy of its members.
+   */
+  public int getLocalEnergyStored() {
     return energyStored;
   }
 
@@ -796,13 +808,19 @@ public class TileCapBank extends TileEntityEio implements IInternalPowerHandler,
   //Values common to both item and block form
   public void writeCommonNBT(NBTTagCompound nbtRoot) {
     getType().writeTypeToNBT(nbtRoot);
-    nbtRoot.setInteger(PowerHandlerUtil.STORED_ENERGY_NBT_KEY, energyStored);
+    nbtRoot.setInteger(PowerHandlerUtil.STORED_ENERGY_NBT_KEY, getEnergyStored());
 
-    if(maxInput != -1) {
-      nbtRoot.setInteger("maxInput", maxInput);
+    int maxIn = maxInput;
+    int maxOut = maxOutput;
+    if(network instanceof CapBankNetwork) {
+      maxIn = ((CapBankNetwork) network).getMaxInputOverride();
+      maxOut = ((CapBankNetwork) network).getMaxOutputOverride();
+    }
+    if(maxIn != -1) {
+      nbtRoot.setInteger("maxInput", maxIn);
     }
-    if(maxOutput != -1) {
-      nbtRoot.setInteger("maxOutput", maxOutput);
+    if(maxOut != -1) {
+      nbtRoot.setInteger("maxOutput", maxOut);
     }
     if(inputControlMode != RedstoneControlMode.IGNORE) {
       nbtRoot.setShort("inputControlMode", (short) inputControlMode.ordinal());
@@ -127,6 +127,8 @@ public class CapBankNetwork implements ICapBankNetwork {
     distributeEnergyToBanks();
     TileCapBank cap = null;
     for (TileCapBank cb : capBanks) {
+      cb.setMaxInput(maxInput);
+      cb.setMaxOutput(maxOutput);
       cb.setNetwork(null);
       if(cap == null) {
         cap = cb;
@@ -153,7 +155,7 @@ public class CapBankNetwork implements ICapBankNetwork {
       }
       maxIO = (int) newIO;
 
-      energyStored += cap.getEnergyStored();
+      energyStored += cap.getLocalEnergyStored();
       maxEnergyStored += cap.getMaxEnergyStored();
       if(maxInput == -1) {
         maxInput = cap.getMaxInputOverride();
@@ -220,9 +222,6 @@ public class CapBankNetwork implements ICapBankNetwork {
     chargeItems(inventory.getStacks());
     transmitEnergy();
 
-    if(energyStored != prevEnergyStored) {
-      distributeEnergyToBanks();
-    }
     if(prevEnergyStored != -1) {
       powerTracker.tick((int) (energyStored - prevEnergyStored));
     }
@@ -327,17 +326,27 @@ public class CapBankNetwork implements ICapBankNetwork {
     return chargedItem;
   }
 
-  private void distributeEnergyToBanks() {
+  /**
+   * The network holds the energy of all its members. A member's share is only
+   * worked out when it is asked for, such as for a comparator or when the
+   * member is saved, and is written back to the members when the network is
+   * destroyed.
+   */
+  public int getEnergyStored(TileCapBank cap) {
     if(capBanks.isEmpty()) {
-      return;
+      return 0;
+    }
+    long res = energyStored / capBanks.size();
+    if(cap == capBanks.get(0)) {
+      res += energyStored % capBanks.size();
     }
-    int energyPerCapBank = (int) (energyStored / capBanks.size());
-    int remaining = (int) (energyStored % capBanks.size());
+    return (int) res;
+  }
+
+  private void distributeEnergyToBanks() {
     for (TileCapBank cb : capBanks) {
-      cb.setEnergyStored(energyPerCapBank);
+      cb.setEnergyStored(getEnergyStored(cb));
     }
-    TileCapBank cb = capBanks.get(0);
-    cb.setEnergyStored(cb.getEnergyStored() + remaining);
   }
 
   //------ Power     
@@ -447,9 +456,11 @@ public class CapBankNetwork implements ICapBankNetwork {
     } else {
       maxInput = max;
     }
-    for (TileCapBank cb : capBanks) {
-      cb.setMaxInput(maxInput);
-    }
+  }
+
+  //Written to the members when they are saved or leave the network
+  public int getMaxInputOverride() {
+    return maxInput;
   }
 
   @Override
@@ -461,9 +472,10 @@ public class CapBankNetwork implements ICapBankNetwork {
     } else {
       maxOutput = max;
     }
-    for (TileCapBank cb : capBanks) {
-      cb.setMaxOutput(maxOutput);
-    }
+  }
+
+  public int getMaxOutputOverride() {
+    return maxOutput;
   }
 
 
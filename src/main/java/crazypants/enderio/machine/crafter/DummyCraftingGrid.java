@@ -1,7 +1,5 @@
 package crazypants.enderio.machine.crafter;
 
-import java.util.List;
-
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.ItemStack;
@@ -12,6 +10,11 @@ public class DummyCraftingGrid implements IInventory {
 
   ItemStack[] inv = new ItemStack[10];
 
+  //the distinct inputs of the grid and how many of each a craft uses, rebuilt when the grid changes
+  private final ItemStack[] requiredInputs = new ItemStack[9];
+  private final int[] requiredAmounts = new int[9];
+  private int numRequiredInputs = -1;
+
   public boolean hasValidRecipe() {
     return getOutput() != null;
   }
@@ -20,13 +23,39 @@ public class DummyCraftingGrid implements IInventory {
     return inv[9];    
   }
 
-  public void copyRequiredInputs(List<ItemStack> required) {
+  public int getRequiredInputCount() {
+    updateRequiredInputs();
+    return numRequiredInputs;
+  }
+
+  public ItemStack getRequiredInput(int index) {
+    updateRequiredInputs();
+    return requiredInputs[index];
+  }
+
+  public int getRequiredAmount(int index) {
+    updateRequiredInputs();
+    return requiredAmounts[index];
+  }
+
+  private void updateRequiredInputs() {
+    if(numRequiredInputs >= 0) {
+      return;
+    }
+    numRequiredInputs = 0;
     for (int i = 0; i < 9; i++) {
       ItemStack is = inv[i];
       if(is != null) {
-        ItemStack copy = is.copy();
-        copy.stackSize = 1;
-        required.add(copy);
+        int index = 0;
+        while (index < numRequiredInputs && !requiredInputs[index].isItemEqual(is)) {
+          index++;
+        }
+        if(index == numRequiredInputs) {
+          requiredInputs[index] = is;
+          requiredAmounts[index] = 0;
+          numRequiredInputs++;
+        }
+        requiredAmounts[index]++;
       }
     }
   }
@@ -48,6 +77,7 @@ public class DummyCraftingGrid implements IInventory {
   public ItemStack decrStackSize(int fromSlot, int amount) {
     ItemStack item = inv[fromSlot];
     inv[fromSlot] = null;
+    numRequiredInputs = -1;
     if(item == null) {
       return null;
     }
@@ -70,7 +100,7 @@ public class DummyCraftingGrid implements IInventory {
     } else {
       inv[i] = null;
     }
-
+    numRequiredInputs = -1;
   }
 
   @Override
@@ -111,6 +141,7 @@ public class DummyCraftingGrid implements IInventory {
   }
 
   public void readFromNBT(NBTTagCompound nbtRoot) {
+    numRequiredInputs = -1;
     NBTTagList itemList = (NBTTagList) nbtRoot.getTag("Items");
     if(itemList == null) {
       for (int i = 0; i < inv.length; i++) {
@@ -9,6 +9,7 @@ import net.minecraft.inventory.Container;
 import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.CraftingManager;
+import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.nbt.NBTTagCompound;
 import crazypants.enderio.ModObject;
 import crazypants.enderio.config.Config;
@@ -31,6 +32,9 @@ public class TileCrafter extends AbstractPowerConsumerEntity implements IItemBuf
 
   private long ticksSinceLastCraft = 0;
 
+  //the recipe last matched by the grid, checked before searching all recipes again
+  private IRecipe recipe;
+
   public TileCrafter() {
     super(new SlotDefinition(9, 1));
     containerItems = new ArrayList<ItemStack>();    
@@ -102,9 +106,7 @@ public class TileCrafter extends AbstractPowerConsumerEntity implements IItemBuf
       return false;
     }
 
-    List<ItemStack> required = new ArrayList<ItemStack>();
-    craftingGrid.copyRequiredInputs(required);
-    if(hasRequiredInput(required)) {
+    if(hasRequiredInput()) {
       craftRecipe();
       int used = Math.min(getEnergyStored(), Config.crafterRfPerCraft);
       setEnergyStored(getEnergyStored() - used);
@@ -137,31 +139,10 @@ public class TileCrafter extends AbstractPowerConsumerEntity implements IItemBuf
   }
 
   private void craftRecipe() {
-    List<ItemStack> required = new ArrayList<ItemStack>();
-    craftingGrid.copyRequiredInputs(required);
-    for (ItemStack req : required) {
-      for (int i = 0; i < 9 && req.stackSize > 0; i++) {
-        ItemStack avail = inventory[i];
-        if(avail != null && avail.stackSize > 0 && avail.isItemEqual(req)) {
-          req.stackSize--;
-          avail = avail.copy();
-          avail.stackSize--;
-          if(avail.stackSize <= 0) {
-            ItemStack used = avail.getItem().getContainerItem(avail);
-            if(used != null) {
-              if(used.isItemEqual(avail)) {
-                avail.stackSize++;
-              } else {
-                containerItems.add(used.copy());
-                avail = null;
-              }
-            }
-          }
-          if(avail != null && avail.stackSize == 0) {
-            avail = null;
-          }
-          setInventorySlotContents(i, avail);
-        }
+    for (int r = 0; r < craftingGrid.getRequiredInputCount(); r++) {
+      ItemStack req = craftingGrid.getRequiredInput(r);
+      for (int n = 0; n < craftingGrid.getRequiredAmount(r); n++) {
+        useInput(req);
       }
     }
     ItemStack output = craftingGrid.getOutput().copy();
@@ -174,6 +155,32 @@ public class TileCrafter extends AbstractPowerConsumerEntity implements IItemBuf
     }
   }
 
+  private void useInput(ItemStack req) {
+    for (int i = 0; i < 9; i++) {
+      ItemStack avail = inventory[i];
+      if(avail != null && avail.stackSize > 0 && avail.isItemEqual(req)) {
+        avail = avail.copy();
+        avail.stackSize--;
+        if(avail.stackSize <= 0) {
+          ItemStack used = avail.getItem().getContainerItem(avail);
+          if(used != null) {
+            if(used.isItemEqual(avail)) {
+              avail.stackSize++;
+            } else {
+              containerItems.add(used.copy());
+              avail = null;
+            }
+          }
+        }
+        if(avail != null && avail.stackSize == 0) {
+          avail = null;
+        }
+        setInventorySlotContents(i, avail);
+        return;
+      }
+    }
+  }
+
   private boolean canMergeOutput() {
     if(inventory[9] == null) {
       return true;
@@ -185,24 +192,17 @@ public class TileCrafter extends AbstractPowerConsumerEntity implements IItemBuf
     return output.getMaxStackSize() >= (inventory[9].stackSize + output.stackSize);
   }
 
-  private boolean hasRequiredInput(List<ItemStack> required) {
-    List<ItemStack> available = new ArrayList<ItemStack>();
-    for (int i = 0; i < 9; i++) {
-      ItemStack is = inventory[i];
-      if(is != null) {
-        available.add(is.copy());
-      }
-    }
-    for (ItemStack req : required) {
-      boolean foundReq = false;
-      for (ItemStack avail : available) {
-        if(req.isItemEqual(avail) && avail.stackSize > 0) {
-          avail.stackSize--;
-          foundReq = true;
-          break;
+  private boolean hasRequiredInput() {
+    for (int r = 0; r < craftingGrid.getRequiredInputCount(); r++) {
+      ItemStack req = craftingGrid.getRequiredInput(r);
+      int needed = craftingGrid.getRequiredAmount(r);
+      for (int i = 0; i < 9 && needed > 0; i++) {
+        ItemStack avail = inventory[i];
+        if(avail != null && avail.isItemEqual(req)) {
+          needed -= avail.stackSize;
         }
       }
-      if(!foundReq) {
+      if(needed > 0) {
         return false;
       }
     }
@@ -259,10 +259,24 @@ public class TileCrafter extends AbstractPowerConsumerEntity implements IItemBuf
     for (int i = 0; i < 9; i++) {
       inv.setInventorySlotContents(i, craftingGrid.getStackInSlot(i));
     }
-    ItemStack matches = CraftingManager.getInstance().findMatchingRecipe(inv, worldObj);
+    if(recipe == null || !recipe.matches(inv, worldObj)) {
+      recipe = findRecipe(inv);
+    }
+    ItemStack matches = recipe != null ? recipe.getCraftingResult(inv) : CraftingManager.getInstance().findMatchingRecipe(inv, worldObj);
     craftingGrid.setInventorySlotContents(9, matches);
     markDirty();
 
   }
 
+  private IRecipe findRecipe(InventoryCrafting inv) {
+    List<?> recipes = CraftingManager.getInstance().getRecipeList();
+    for (int i = 0; i < recipes.size(); i++) {
+      IRecipe candidate = (IRecipe) recipes.get(i);
+      if(candidate.matches(inv, worldObj)) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
 }
@@ -18,6 +18,7 @@ import crazypants.enderio.machine.recipe.Recipe;
 import crazypants.enderio.machine.recipe.RecipeConfig;
 import crazypants.enderio.machine.recipe.RecipeConfigParser;
 import crazypants.enderio.machine.recipe.RecipeInput;
+import crazypants.enderio.machine.recipe.RecipeInputIndex;
 import crazypants.enderio.machine.recipe.RecipeOutput;
 import crazypants.enderio.machine.recipe.RecipeBonusType;
 import crazypants.util.Util;
@@ -38,6 +39,8 @@ public class CrusherRecipeManager {
   }
 
   private final List<Recipe> recipes = new ArrayList<Recipe>();
+
+  private final RecipeInputIndex<Recipe> index = new RecipeInputIndex<Recipe>();
   
   private final List<RecipeInput> ballExcludes = new ArrayList<RecipeInput>();
 
@@ -147,8 +150,9 @@ public class CrusherRecipeManager {
     if(input == null) {
       return null;
     }
-    for (Recipe recipe : recipes) {
-      if(recipe.isInputForRecipe(new MachineRecipeInput(0, input))) {
+    MachineRecipeInput in = new MachineRecipeInput(0, input);
+    for (Recipe recipe : index.getCandidates(input)) {
+      if(recipe.isInputForRecipe(in)) {
         return recipe;
       }
     }
@@ -193,6 +197,7 @@ public class CrusherRecipeManager {
       return;
     }
     recipes.add(recipe);
+    index.add(recipe, recipe.getInputs());
   }
 
   public List<Recipe> getRecipes() {
@@ -0,0 +1,105 @@
+package crazypants.enderio.machine.farm;
+
+import crazypants.enderio.config.Config;
+import crazypants.enderio.machine.farm.farmers.IFarmerJoe;
+import crazypants.util.BlockCoord;
+
+/**
+ * Decides which block of a farm is worked next. The blocks are still visited
+ * in rows, but a block where a visit found nothing to do is skipped for a
+ * while, and for twice as long after each further idle visit. Crops are
+ * checked less often while they grow and the farm spends its ticks on the
+ * blocks that can be worked. The farmer that last planted or harvested each
+ * block is remembered so it is asked first on the next visit.
+ */
+class FarmWorkQueue {
+
+  private static final int MIN_IDLE_REVISIT = 20;
+
+  private final BlockCoord center;
+  private final int size;
+  private final int width;
+
+  //world time each block is next due for a visit, and the wait after its last idle visit
+  private final long[] nextVisit;
+  private final int[] idleWait;
+  private final IFarmerJoe[] farmers;
+
+  private int cursor;
+
+  FarmWorkQueue(BlockCoord center, int size) {
+    this.center = center;
+    this.size = size;
+    width = size * 2 + 1;
+    nextVisit = new long[width * width];
+    idleWait = new int[width * width];
+    farmers = new IFarmerJoe[width * width];
+  }
+
+  boolean isFor(BlockCoord center, int size) {
+    return this.size == size && this.center.equals(center);
+  }
+
+  /**
+   * Returns the index of the next block due a visit, or -1 if every block is
+   * waiting.
+   */
+  int next(long now) {
+    int centerIndex = size * width + size;
+    for (int i = 0; i < nextVisit.length; i++) {
+      int index = (cursor + i) % nextVisit.length;
+      if(index != centerIndex && nextVisit[index] <= now) {
+        cursor = index + 1;
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Makes the block at bc the next one visited, for work that is spread over
+   * several visits.
+   */
+  void revisit(BlockCoord bc) {
+    int dx = bc.x - center.x + size;
+    int dz = bc.z - center.z + size;
+    if(dx < 0 || dx >= width || dz < 0 || dz >= width) {
+      return;
+    }
+    int index = dz * width + dx;
+    idleWait[index] = 0;
+    nextVisit[index] = 0;
+    cursor = index;
+  }
+
+  BlockCoord getCoord(int index) {
+    return new BlockCoord(center.x - size + index % width, center.y, center.z - size + index / width);
+  }
+
+  IFarmerJoe getFarmer(int index) {
+    return farmers[index];
+  }
+
+  void setFarmer(int index, IFarmerJoe farmer) {
+    if(farmer != null) {
+      farmers[index] = farmer;
+    }
+  }
+
+  /**
+   * Records the outcome of a visit. A block that was worked is visited again
+   * on the next pass, an idle one waits.
+   */
+  void visited(int index, long now, boolean worked) {
+    int max = Config.farmMaxIdleRevisitTicks;
+    if(worked || max <= 0) {
+      idleWait[index] = 0;
+      nextVisit[index] = 0;
+      return;
+    }
+    int wait = idleWait[index] <= 0 ? MIN_IDLE_REVISIT : idleWait[index] * 2;
+    idleWait[index] = Math.min(wait, Math.max(MIN_IDLE_REVISIT, max));
+    nextVisit[index] = now + idleWait[index];
+  }
+
+}
@@ -26,6 +26,7 @@ import crazypants.enderio.machine.IMachineRecipe.ResultStack;
 import crazypants.enderio.machine.IPoweredTask;
 import crazypants.enderio.machine.SlotDefinition;
 import crazypants.enderio.machine.farm.farmers.FarmersCommune;
+import crazypants.enderio.machine.farm.farmers.IFarmerJoe;
 import crazypants.enderio.machine.farm.farmers.IHarvestResult;
 import crazypants.enderio.machine.farm.farmers.RubberTreeFarmerIC2;
 import crazypants.enderio.network.PacketHandler;
@@ -80,7 +81,7 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
   public static final String NOTIFICATION_NO_AXE = "noAxe";
   public static final String NOTIFICATION_NO_SEEDS = "noSeeds";
   
-  private BlockCoord lastScanned;
+  private FarmWorkQueue workQueue;
   private EntityPlayerMP farmerJoe;
 
   private int farmSize = Config.farmDefaultSize;
@@ -343,6 +344,16 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
     return true;
   }
 
+  /**
+   * Asks for bc to be worked again on the next farm tick, for harvests that
+   * take more than one visit.
+   */
+  public void requestRevisit(BlockCoord bc) {
+    if(workQueue != null) {
+      workQueue.revisit(bc);
+    }
+  }
+
   protected void doTick() {
 
     if (sendNotification && worldObj.getTotalWorldTime() % 20 == 0) {
@@ -358,14 +369,15 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
       clearNotification();
     }
 
-    BlockCoord bc = getNextCoord();
-    if(bc != null && bc.equals(getLocation())) { //don't try and harvest ourselves
-      bc = getNextCoord();
+    if(workQueue == null || !workQueue.isFor(getLocation(), getFarmSize())) {
+      workQueue = new FarmWorkQueue(getLocation(), getFarmSize());
     }
-    if(bc == null) {
+    long now = worldObj.getTotalWorldTime();
+    int index = workQueue.next(now);
+    if(index < 0) {
       return;
     }
-    lastScanned = bc;
+    BlockCoord bc = workQueue.getCoord(index);
 
     Block block = worldObj.getBlock(bc.x, bc.y, bc.z);
     if(block == null) {
@@ -376,8 +388,11 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
       farmerJoe = new FakeFarmPlayer(MinecraftServer.getServer().worldServerForDimension(worldObj.provider.dimensionId));
     }
     
+    boolean worked = false;
     if(isOpen(bc)) {
-      FarmersCommune.instance.prepareBlock(this, bc, block, meta);
+      IFarmerJoe joe = FarmersCommune.instance.prepareBlock(this, bc, block, meta, workQueue.getFarmer(index));
+      workQueue.setFarmer(index, joe);
+      worked = joe != null;
       block = worldObj.getBlock(bc.x, bc.y, bc.z);
     }
 
@@ -392,11 +407,16 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
     }
 
     if(!isOpen(bc)) {
-      IHarvestResult harvest = FarmersCommune.instance.harvestBlock(this, bc, block, meta);
+      IFarmerJoe joe = FarmersCommune.instance.getHarvester(this, bc, block, meta, workQueue.getFarmer(index));
+      workQueue.setFarmer(index, joe);
+      IHarvestResult harvest = joe == null ? null : joe.harvestBlock(this, bc, block, meta);
+      worked |= harvest != null;
       if(harvest != null) {
         if(harvest.getDrops() != null) {
-          PacketFarmAction pkt = new PacketFarmAction(harvest.getHarvestedBlocks());
-          PacketHandler.INSTANCE.sendToAllAround(pkt, new TargetPoint(worldObj.provider.dimensionId, bc.x, bc.y, bc.z, 64));
+          if(harvest.getHarvestedBlocks() != null && !harvest.getHarvestedBlocks().isEmpty()) {
+            PacketFarmAction pkt = new PacketFarmAction(harvest.getHarvestedBlocks());
+            PacketHandler.INSTANCE.sendToAllAround(pkt, new TargetPoint(worldObj.provider.dimensionId, bc.x, bc.y, bc.z, 64));
+          }
           for (EntityItem ei : harvest.getDrops()) {
             if(ei != null) {
               insertHarvestDrop(ei);
@@ -408,7 +428,7 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
         }
       }
     }
-    return;
+    workQueue.visited(index, now, worked || block != worldObj.getBlock(bc.x, bc.y, bc.z));
   }
 
   private boolean isOutputFull() {
@@ -539,29 +559,6 @@ public class TileFarmStation extends AbstractPoweredTaskEntity {
     return Math.min(itemStack.getMaxStackSize() - itemStack.stackSize, result.stackSize);
   }
 
-  private BlockCoord getNextCoord() {
-
-    int size = getFarmSize();
-
-    BlockCoord loc = getLocation();
-    if(lastScanned == null) {
-      lastScanned = new BlockCoord(loc.x - size, loc.y, loc.z - size);
-      return lastScanned;
-    }
-
-    int nextX = lastScanned.x + 1;
-    int nextZ = lastScanned.z;
-    if(nextX > loc.x + size) {
-      nextX = loc.x - size;
-      nextZ += 1;
-      if(nextZ > loc.z + size) {
-        lastScanned = null;
-        return getNextCoord();
-      }
-    }
-    return new BlockCoord(nextX, lastScanned.y, nextZ);
-  }
-  
   public void toggleLockedState(int buttonID) {
     if (worldObj.isRemote) {
       PacketHandler.INSTANCE.sendToServer(new PacketFarmLockedSlot(this, buttonID));
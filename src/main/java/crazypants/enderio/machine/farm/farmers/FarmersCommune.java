@@ -48,10 +48,23 @@ public class FarmersCommune implements IFarmerJoe {
 
   @Override
   public IHarvestResult harvestBlock(TileFarmStation farm, BlockCoord bc, Block block, int meta) {
+    IFarmerJoe joe = getHarvester(farm, bc, block, meta, null);
+    return joe == null ? null : joe.harvestBlock(farm, bc, block, meta);
+  }
+
+  /**
+   * Returns the farmer that can harvest the block, or null if there is none.
+   * The given farmer, usually the one that last worked the block, is asked
+   * first.
+   */
+  public IFarmerJoe getHarvester(TileFarmStation farm, BlockCoord bc, Block block, int meta, IFarmerJoe first) {
+    if(first != null && !ignoreTreeHarvest(farm, bc, first) && first.canHarvest(farm, bc, block, meta)) {
+      return first;
+    }
     for (IFarmerJoe joe : farmers) {
-      if (ignoreTreeHarvest(farm, bc, joe)) continue;
+      if (joe == first || ignoreTreeHarvest(farm, bc, joe)) continue;
       if (joe.canHarvest(farm, bc, block, meta)) {
-        return joe.harvestBlock(farm, bc, block, meta);
+        return joe;
       }
     }
     return null;
@@ -59,12 +72,23 @@ public class FarmersCommune implements IFarmerJoe {
 
   @Override
   public boolean prepareBlock(TileFarmStation farm, BlockCoord bc, Block block, int meta) {
+    return prepareBlock(farm, bc, block, meta, null) != null;
+  }
+
+  /**
+   * Returns the farmer that prepared the block, or null if none did. The given
+   * farmer is asked first.
+   */
+  public IFarmerJoe prepareBlock(TileFarmStation farm, BlockCoord bc, Block block, int meta, IFarmerJoe first) {
+    if(first != null && first.prepareBlock(farm, bc, block, meta)) {
+      return first;
+    }
     for (IFarmerJoe joe : farmers) {
-      if(joe.prepareBlock(farm, bc, block, meta)) {
-        return true;
+      if(joe != first && joe.prepareBlock(farm, bc, block, meta)) {
+        return joe;
       }
     }
-    return false;
+    return null;
   }
 
   @Override
@@ -4,8 +4,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockLeaves;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
@@ -21,6 +24,9 @@ public class TreeFarmer implements IFarmerJoe {
 
   private static final HeightComparator comp = new HeightComparator();
 
+  private static final int MAX_SEARCH_READS_PER_VISIT = 2048;
+  private static final int MAX_BLOCKS_PER_VISIT = 64;
+
   protected Block sapling;
   protected ItemStack saplingItem;
   protected Block[] woods;
@@ -28,6 +34,8 @@ public class TreeFarmer implements IFarmerJoe {
   protected TreeHarvestUtil harvester = new TreeHarvestUtil();
   private boolean ignoreMeta;
 
+  private final Map<TileFarmStation, HarvestPlan> plans = new WeakHashMap<TileFarmStation, HarvestPlan>();
+
   public TreeFarmer(Block sapling, Block... wood) {
     this.sapling = sapling;
     if(sapling != null) {
@@ -107,14 +115,29 @@ public class TreeFarmer implements IFarmerJoe {
     if(!farm.hasAxe()) {
       return res;
     }
-    harvester.harvest(farm, this, bc, res);
-    Collections.sort(res.harvestedBlocks, comp);
 
-    List<BlockCoord> actualHarvests = new ArrayList<BlockCoord>();
+    HarvestPlan plan = plans.get(farm);
+    if(plan == null || !plan.base.equals(bc)) {
+      plan = new HarvestPlan(bc, harvester.startHarvest(farm, this, bc));
+      plans.put(farm, plan);
+    }
+    if(plan.targets == null) {
+      if(!plan.search.search(MAX_SEARCH_READS_PER_VISIT)) {
+        farm.requestRevisit(bc);
+        return res;
+      }
+      plan.targets = new ArrayList<BlockCoord>(plan.search.getBlocks());
+      Collections.sort(plan.targets, comp);
+    }
 
-    for (int i = 0; i < res.harvestedBlocks.size() && farm.hasAxe(); i++) {
-      BlockCoord coord = res.harvestedBlocks.get(i);
+    int chopped = 0;
+    while (plan.next < plan.targets.size() && chopped < MAX_BLOCKS_PER_VISIT && farm.hasAxe()) {
+      BlockCoord coord = plan.targets.get(plan.next++);
       Block blk = farm.getBlock(coord);
+      if(!isWood(blk) && !(blk instanceof BlockLeaves)) {
+        //gone since the tree was searched
+        continue;
+      }
 
       ArrayList<ItemStack> drops = blk.getDrops(farm.getWorldObj(), bc.x, bc.y, bc.z, farm.getBlockMeta(coord), farm.getAxeLootingValue());
       if(drops != null) {
@@ -137,15 +160,19 @@ public class TreeFarmer implements IFarmerJoe {
         farm.damageAxe(blk, coord);
       }
       farm.getWorldObj().setBlockToAir(coord.x, coord.y, coord.z);
-      actualHarvests.add(coord);
+      res.harvestedBlocks.add(coord);
+      chopped++;
+    }
+
+    if(plan.next >= plan.targets.size()) {
+      plans.remove(farm);
+    } else if(farm.hasAxe()) {
+      farm.requestRevisit(bc);
     }
     
     if (!farm.hasAxe()) {
       farm.setNotification(TileFarmStation.NOTIFICATION_NO_AXE);
     }
-    
-    res.harvestedBlocks.clear();
-    res.harvestedBlocks.addAll(actualHarvests);
 
     return res;
   }
@@ -155,6 +182,23 @@ public class TreeFarmer implements IFarmerJoe {
     return ignoreMeta;
   }
 
+  /**
+   * A tree being harvested by a farm. Big trees are searched and chopped over
+   * several visits so no single farm tick does all of the work.
+   */
+  private static class HarvestPlan {
+
+    final BlockCoord base;
+    final TreeHarvestUtil.TreeSearch search;
+    List<BlockCoord> targets;
+    int next;
+
+    HarvestPlan(BlockCoord base, TreeHarvestUtil.TreeSearch search) {
+      this.base = base;
+      this.search = search;
+    }
+  }
+
   private static class HeightComparator implements Comparator<BlockCoord> {
 
     @Override
@@ -1,7 +1,13 @@
 package crazypants.enderio.machine.farm.farmers;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
 import net.minecraft.block.*;
+import net.minecraft.init.Blocks;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.util.ForgeDirection;
 import crazypants.enderio.machine.farm.TileFarmStation;
 import crazypants.util.BlockCoord;
@@ -9,108 +15,198 @@ import crazypants.util.BlockCoord;
 public class TreeHarvestUtil {
 
   public static boolean canDropApples(Block block, int meta) {
-    return 
+    return
         (block instanceof BlockOldLeaf && (meta == 0 || meta == 8)) || //oak
             (block instanceof BlockNewLeaf && (meta == 1 || meta == 9)); //giant oak
   }
-  
-  private int horizontalRange;
-  private int verticalRange;
-  private BlockCoord origin;
-  
+
   public TreeHarvestUtil() {
   }
 
   public void harvest(TileFarmStation farm, TreeFarmer farmer, BlockCoord bc, HarvestResult res) {
-    horizontalRange = farm.getFarmSize() + 7;
-    verticalRange = 30;
-    harvest(farm.getWorldObj(), farm.getLocation(), bc, res, farmer.getIgnoreMeta());
+    TreeSearch search = startHarvest(farm, farmer, bc);
+    search.search(0);
+    res.harvestedBlocks.addAll(search.getBlocks());
   }
-  
+
   public void harvest(World world, BlockCoord bc, HarvestResult res) {
-    horizontalRange = 12;
-    verticalRange = 30;
-    origin = new BlockCoord(bc);
     Block wood = world.getBlock(bc.x, bc.y, bc.z);
     int woodMeta = world.getBlockMetadata(bc.x, bc.y, bc.z);
-    harvestUp(world, bc, res, new HarvestTarget(wood, woodMeta));
+    TreeSearch search = new TreeSearch(world, bc, bc, 12, 30, new HarvestTarget(wood, woodMeta));
+    search.search(0);
+    res.harvestedBlocks.addAll(search.getBlocks());
   }
-  
-  private void harvest(World world, BlockCoord origin, BlockCoord bc, HarvestResult res, boolean ignoreMeta) {
-    this.origin = new BlockCoord(origin);
+
+  /**
+   * Starts a search for the tree growing from bc that can be run a bit at a
+   * time with {@link TreeSearch#search(int)}.
+   */
+  public TreeSearch startHarvest(TileFarmStation farm, TreeFarmer farmer, BlockCoord bc) {
+    World world = farm.getWorldObj();
     Block wood = world.getBlock(bc.x, bc.y, bc.z);
     int woodMeta = world.getBlockMetadata(bc.x, bc.y, bc.z);
-    if (ignoreMeta)
-    {
-      harvestUp(world, bc, res, new BaseHarvestTarget(wood));
-    }
-    else
-    {
-      harvestUp(world, bc, res, new HarvestTarget(wood, woodMeta));
-    }
+    BaseHarvestTarget target = farmer.getIgnoreMeta() ? new BaseHarvestTarget(wood) : new HarvestTarget(wood, woodMeta);
+    return new TreeSearch(world, farm.getLocation(), bc, farm.getFarmSize() + 7, 30, target);
   }
-  
-  protected void harvestUp(World world, BlockCoord bc, HarvestResult res, BaseHarvestTarget target) {
 
-    if(!isInHarvestBounds(bc) || res.harvestedBlocks.contains(bc)) {
-      return;
+  /**
+   * Finds the logs and leaves of a tree. Logs and leaves are followed in every
+   * direction but down; from any other block only logs level with it are
+   * followed, which picks up branches of large oaks that are surrounded by
+   * leaves. Blocks are tracked by their offset in the search bounds, and read
+   * straight from the chunks.
+   */
+  public static class TreeSearch {
+
+    private final ChunkReader reader;
+    private final BlockCoord origin;
+    private final int horizontalRange;
+    private final int verticalRange;
+    private final int width;
+    private final BaseHarvestTarget target;
+
+    private final BitSet seen = new BitSet();
+    private final List<BlockCoord> blocks = new ArrayList<BlockCoord>();
+
+    private int[] stack = new int[64];
+    private int stackSize;
+
+    TreeSearch(World world, BlockCoord origin, BlockCoord start, int horizontalRange, int verticalRange, BaseHarvestTarget target) {
+      reader = new ChunkReader(world);
+      this.origin = origin;
+      this.horizontalRange = horizontalRange;
+      this.verticalRange = verticalRange;
+      this.target = target;
+      width = horizontalRange * 2 + 1;
+      push(start.x, start.y, start.z);
     }
 
-    Block blk = world.getBlock(bc.x, bc.y,bc.z);
-    boolean isLeaves = blk instanceof BlockLeaves;
-    if(target.isTarget(blk, world.getBlockMetadata(bc.x, bc.y, bc.z)) || isLeaves) {
-      res.harvestedBlocks.add(bc);
-      for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
-        if(dir != ForgeDirection.DOWN) {
-          harvestUp(world, bc.getLocation(dir), res, target);
+    /**
+     * Carries on the search until it is complete or it has read more than
+     * maxReads blocks, 0 for no limit. Returns true once it is complete.
+     */
+    public boolean search(int maxReads) {
+      int startReads = reader.reads;
+      while (stackSize > 0) {
+        if(maxReads > 0 && reader.reads - startReads >= maxReads) {
+          return false;
         }
-      }
-    } else {
-      // check the sides for connected wood
-      harvestAdjacentWood(world, bc, res, target);
-      //and another check for large oaks, where wood can be surrounded by leaves
-      for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
-        if(dir.offsetY == 0) {
-          BlockCoord loc = bc.getLocation(dir);
-          Block targetBlock = world.getBlock(loc.x,loc.y,loc.z);
-          if(targetBlock instanceof BlockLeaves) {
-            harvestAdjacentWood(world, bc, res, target);
+        int index = stack[--stackSize];
+        if(seen.get(index)) {
+          continue;
+        }
+        seen.set(index);
+        int x = getX(index);
+        int y = getY(index);
+        int z = getZ(index);
+
+        Block blk = reader.getBlock(x, y, z);
+        if(blk instanceof BlockLeaves || target.isTarget(blk, reader.getBlockMetadata(x, y, z))) {
+          blocks.add(new BlockCoord(x, y, z));
+          for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
+            if(dir != ForgeDirection.DOWN) {
+              push(x + dir.offsetX, y + dir.offsetY, z + dir.offsetZ);
+            }
           }
+        } else {
+          // check the sides for connected wood
+          for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
+            if(dir.offsetY == 0) {
+              int nx = x + dir.offsetX;
+              int nz = z + dir.offsetZ;
+              if(target.isTarget(reader.getBlock(nx, y, nz), reader.getBlockMetadata(nx, y, nz))) {
+                push(nx, y, nz);
+              }
+            }
+          }
+          // Not harvested, but its neighbours are queued so it can't add anything if reached again
         }
       }
+      return true;
     }
 
-  }
+    public boolean isComplete() {
+      return stackSize == 0;
+    }
 
-  private void harvestAdjacentWood(World world, BlockCoord bc, HarvestResult res, BaseHarvestTarget target) {
-    for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
-      if(dir.offsetY == 0) {
-        BlockCoord loc = bc.getLocation(dir);
-        Block targetBlock = world.getBlock(loc.x, loc.y, loc.z);
-        if(target.isTarget(targetBlock, world.getBlockMetadata(loc.x, loc.y, loc.z))) {
-          harvestUp(world, bc.getLocation(dir), res, target);
-        }
+    /**
+     * The logs and leaves found so far.
+     */
+    public List<BlockCoord> getBlocks() {
+      return blocks;
+    }
+
+    private void push(int x, int y, int z) {
+      int dx = x - origin.x;
+      int dy = y - origin.y;
+      int dz = z - origin.z;
+      if(Math.abs(dx) > horizontalRange || Math.abs(dz) > horizontalRange || Math.abs(dy) > verticalRange) {
+        return;
       }
+      int index = ((dy + verticalRange) * width + dx + horizontalRange) * width + dz + horizontalRange;
+      if(seen.get(index)) {
+        return;
+      }
+      if(stackSize == stack.length) {
+        int[] newStack = new int[stack.length * 2];
+        System.arraycopy(stack, 0, newStack, 0, stackSize);
+        stack = newStack;
+      }
+      stack[stackSize++] = index;
+    }
+
+    private int getX(int index) {
+      return origin.x + (index / width) % width - horizontalRange;
+    }
+
+    private int getY(int index) {
+      return origin.y + index / (width * width) - verticalRange;
+    }
+
+    private int getZ(int index) {
+      return origin.z + index % width - horizontalRange;
     }
   }
 
-  private boolean isInHarvestBounds(BlockCoord bc) {
-    
-    int dist = Math.abs(origin.x - bc.x);
-    if(dist > horizontalRange) {
-      return false;
+  /**
+   * Reads blocks from the chunk that was last read from, only looking up
+   * another chunk when the search crosses into it.
+   */
+  private static final class ChunkReader {
+
+    private final World world;
+    private Chunk chunk;
+    int reads;
+
+    ChunkReader(World world) {
+      this.world = world;
     }
-    dist = Math.abs(origin.z - bc.z);
-    if(dist > horizontalRange) {
-      return false;
+
+    Block getBlock(int x, int y, int z) {
+      reads++;
+      if(y < 0 || y >= 256) {
+        return Blocks.air;
+      }
+      return getChunk(x, z).getBlock(x & 15, y, z & 15);
     }
-    dist = Math.abs(origin.y - bc.y);
-    if(dist > verticalRange) {
-      return false;
+
+    int getBlockMetadata(int x, int y, int z) {
+      if(y < 0 || y >= 256) {
+        return 0;
+      }
+      return getChunk(x, z).getBlockMetadata(x & 15, y, z & 15);
+    }
+
+    private Chunk getChunk(int x, int z) {
+      int chunkX = x >> 4;
+      int chunkZ = z >> 4;
+      if(chunk == null || chunk.xPosition != chunkX || chunk.zPosition != chunkZ) {
+        chunk = world.getChunkFromChunkCoords(chunkX, chunkZ);
+      }
+      return chunk;
     }
-    return true;
   }
-  
+
   private static final class HarvestTarget extends BaseHarvestTarget
   {
     private final int woodMeta;
@@ -1,5 +1,6 @@
 package crazypants.enderio.machine.killera;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.command.IEntitySelector;
@@ -38,6 +39,7 @@ import crazypants.enderio.xp.PacketExperianceContainer;
 import crazypants.enderio.xp.XpUtil;
 import crazypants.render.BoundingBox;
 import crazypants.util.BlockCoord;
+import crazypants.util.EntityScanService;
 import crazypants.util.FluidUtil;
 import crazypants.util.ForgeDirectionOffsets;
 import crazypants.vecmath.Vector3d;
@@ -72,6 +74,9 @@ public class TileKillerJoe extends AbstractMachineEntity implements IFluidHandle
   
   private boolean hadSword;
 
+  private final List<EntityLivingBase> killTargets = new ArrayList<EntityLivingBase>();
+  private final List<EntityXPOrb> xpTargets = new ArrayList<EntityXPOrb>();
+
   public TileKillerJoe() {
     super(new SlotDefinition(1, 0, 0));
   }
@@ -164,10 +169,10 @@ public class TileKillerJoe extends AbstractMachineEntity implements IFluidHandle
       return false;
     }
 
-    List<EntityLivingBase> entsInBounds = worldObj.getEntitiesWithinAABB(EntityLivingBase.class, getKillBounds());
-    if(!entsInBounds.isEmpty()) {
+    EntityScanService.instance.getEntities(worldObj, EntityLivingBase.class, getKillBounds(), null, killTargets);
+    if(!killTargets.isEmpty()) {
 
-      for (EntityLivingBase ent : entsInBounds) {
+      for (EntityLivingBase ent : killTargets) {
         if(!ent.isDead && !ent.isEntityInvulnerable()) {
           if (ent instanceof EntityPlayer && ((EntityPlayer)ent).capabilities.disableDamage) continue;  //Ignore players in creative, can't damage them;
           if (Config.killerJoeMustSee && !canJoeSee(ent)) continue;
@@ -180,8 +185,9 @@ public class TileKillerJoe extends AbstractMachineEntity implements IFluidHandle
             setInventorySlotContents(0, null);
           }
         }
-        return false;
+        break;
       }
+      killTargets.clear();
     }
     return false;
   }
@@ -215,9 +221,9 @@ public class TileKillerJoe extends AbstractMachineEntity implements IFluidHandle
 
     double maxDist = Config.killerJoeHooverXpLength;
 
-    List<EntityXPOrb> xp = worldObj.selectEntitiesWithinAABB(EntityXPOrb.class, getHooverBounds(), this);
+    EntityScanService.instance.getEntities(worldObj, EntityXPOrb.class, getHooverBounds(), this, xpTargets);
 
-    for (EntityXPOrb entity : xp) {
+    for (EntityXPOrb entity : xpTargets) {
       double xDist = (xCoord + 0.5D - entity.posX);
       double yDist = (yCoord + 0.5D - entity.posY);
       double zDist = (zCoord + 0.5D - entity.posZ);
@@ -239,6 +245,7 @@ public class TileKillerJoe extends AbstractMachineEntity implements IFluidHandle
 
       }
     }
+    xpTargets.clear();
   }
 
   private void hooverXP(EntityXPOrb entity) {
@@ -14,6 +14,8 @@ public class ManyToOneRecipeManager {
   
   private final List<IManyToOneRecipe> recipes = new ArrayList<IManyToOneRecipe>();
 
+  private final RecipeInputIndex<IManyToOneRecipe> index = new RecipeInputIndex<IManyToOneRecipe>();
+
   private final String coreFileName;
   private final String customFileName;
   private final String managerName;
@@ -91,6 +93,7 @@ public class ManyToOneRecipeManager {
       return;
     }
     recipes.add(recipe);
+    index.add(recipe, recipe.getInputs());
   }
 
   private IRecipe getRecipeForInputs(List<ItemStack> inputs) {
@@ -103,8 +106,17 @@ public class ManyToOneRecipeManager {
   }
 
   public IRecipe getRecipeForInputs(MachineRecipeInput[] inputs) {
-
-    for (IManyToOneRecipe rec : recipes) {
+    //every item given has to be an input of the recipe, so any one of them will do to narrow the search
+    List<IManyToOneRecipe> candidates = recipes;
+    if(inputs != null) {
+      for (MachineRecipeInput input : inputs) {
+        if(input != null && input.item != null) {
+          candidates = index.getCandidates(input.item);
+          break;
+        }
+      }
+    }
+    for (IManyToOneRecipe rec : candidates) {
       if(rec.isInputForRecipe(inputs)) {
         return rec;
       }
@@ -116,7 +128,7 @@ public class ManyToOneRecipeManager {
     if(input == null || input.item == null) {
       return false;
     }
-    for (IManyToOneRecipe recipe : recipes) {
+    for (IManyToOneRecipe recipe : index.getCandidates(input.item)) {
       for (RecipeInput ri : recipe.getInputs()) {
         if(ri.isInput(input.item) && (ri.getSlotNumber() == -1 || input.slotNumber == ri.getSlotNumber())) {
           return true;
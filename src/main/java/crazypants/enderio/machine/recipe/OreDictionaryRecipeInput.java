@@ -27,6 +27,10 @@ public class OreDictionaryRecipeInput extends RecipeInput {
     return new OreDictionaryRecipeInput(this);
   }
 
+  public int getOreId() {
+    return oreId;
+  }
+
   @Override
   public boolean isInput(ItemStack test) {
     if(test == null || oreId < 0) {
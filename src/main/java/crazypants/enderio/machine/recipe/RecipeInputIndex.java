@@ -0,0 +1,135 @@
+package crazypants.enderio.machine.recipe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+
+/**
+ * Finds the recipes that have an input that may accept a given stack without
+ * testing every recipe. Inputs are keyed by item and damage, by item alone
+ * for inputs that ignore the damage, and by ore dictionary id. Inputs of any
+ * other type can't be keyed and their recipes are always returned. Candidates
+ * are returned in the order they were added and still have to be checked
+ * against the recipe, as the index ignores stack sizes and slots.
+ */
+public class RecipeInputIndex<T> {
+
+  private final List<T> entries = new ArrayList<T>();
+
+  private final Map<Long, List<Integer>> byItemAndDamage = new HashMap<Long, List<Integer>>();
+  private final Map<Item, List<Integer>> byItem = new HashMap<Item, List<Integer>>();
+  private final Map<Integer, List<Integer>> byOreId = new HashMap<Integer, List<Integer>>();
+  private final List<Integer> unindexed = new ArrayList<Integer>();
+
+  public void add(T entry, RecipeInput[] inputs) {
+    Integer index = entries.size();
+    entries.add(entry);
+    if(inputs == null) {
+      return;
+    }
+    for (RecipeInput ri : inputs) {
+      if(ri == null || ri.getInput() == null) {
+        continue;
+      }
+      ItemStack stack = ri.getInput();
+      if(ri.getClass() == OreDictionaryRecipeInput.class) {
+        addTo(byOreId, ((OreDictionaryRecipeInput) ri).getOreId(), index);
+      } else if(ri.getClass() != RecipeInput.class || stack.getItem() == null) {
+        addTo(unindexed, index);
+      } else if(ri.isUseMeta()) {
+        addTo(byItemAndDamage, getKey(stack.getItem(), stack.getItemDamage()), index);
+      } else {
+        addTo(byItem, stack.getItem(), index);
+      }
+    }
+  }
+
+  public void clear() {
+    entries.clear();
+    byItemAndDamage.clear();
+    byItem.clear();
+    byOreId.clear();
+    unindexed.clear();
+  }
+
+  /**
+   * Returns the entries with an input that may accept the stack, in the order
+   * they were added.
+   */
+  public List<T> getCandidates(ItemStack stack) {
+    if(stack == null || stack.getItem() == null) {
+      return Collections.emptyList();
+    }
+    List<List<Integer>> found = new ArrayList<List<Integer>>(4);
+    addIfPresent(found, byItemAndDamage.get(getKey(stack.getItem(), stack.getItemDamage())));
+    addIfPresent(found, byItem.get(stack.getItem()));
+    if(!byOreId.isEmpty()) {
+      int[] ids = OreDictionary.getOreIDs(stack);
+      if(ids != null) {
+        for (int id : ids) {
+          addIfPresent(found, byOreId.get(id));
+        }
+      }
+    }
+    addIfPresent(found, unindexed);
+
+    if(found.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if(found.size() == 1) {
+      List<Integer> indices = found.get(0);
+      List<T> res = new ArrayList<T>(indices.size());
+      for (Integer i : indices) {
+        res.add(entries.get(i));
+      }
+      return res;
+    }
+    List<Integer> merged = new ArrayList<Integer>();
+    for (List<Integer> indices : found) {
+      merged.addAll(indices);
+    }
+    Collections.sort(merged);
+    List<T> res = new ArrayList<T>(merged.size());
+    int last = -1;
+    for (Integer i : merged) {
+      if(i != last) {
+        res.add(entries.get(i));
+        last = i;
+      }
+    }
+    return res;
+  }
+
+  private static void addIfPresent(List<List<Integer>> found, List<Integer> indices) {
+    if(indices != null && !indices.isEmpty()) {
+      found.add(indices);
+    }
+  }
+
+  private static <K> void addTo(Map<K, List<Integer>> map, K key, Integer index) {
+    List<Integer> list = map.get(key);
+    if(list == null) {
+      list = new ArrayList<Integer>(1);
+      map.put(key, list);
+    }
+    addTo(list, index);
+  }
+
+  //entries are added in order, so this also stops an entry being listed twice
+  private static void addTo(List<Integer> list, Integer index) {
+    if(list.isEmpty() || !list.get(list.size() - 1).equals(index)) {
+      list.add(index);
+    }
+  }
+
+  private static long getKey(Item item, int damage) {
+    return ((long) Item.getIdFromItem(item) << 32) | (damage & 0xFFFFFFFFL);
+  }
+
+}
@@ -93,7 +93,7 @@ public class TileSoulBinder extends AbstractPoweredTaskEntity implements IHaveEx
     if(currentTask != null) {
       return -1;
     }
-    IMachineRecipe nextRecipe = MachineRecipeRegistry.instance.getRecipeForInputs(getMachineName(), getRecipeInputs());
+    IMachineRecipe nextRecipe = getRecipeForInputs(getRecipeInputs());
     if(! (nextRecipe instanceof ISoulBinderRecipe)) {
       return -1;
     }
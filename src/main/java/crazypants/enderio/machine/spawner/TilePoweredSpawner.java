@@ -1,5 +1,8 @@
 package crazypants.enderio.machine.spawner;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.EntityLiving;
@@ -19,6 +22,7 @@ import crazypants.enderio.machine.SlotDefinition;
 import crazypants.enderio.power.BasicCapacitor;
 import crazypants.enderio.power.Capacitors;
 import crazypants.enderio.power.ICapacitor;
+import crazypants.util.EntityScanService;
 
 public class TilePoweredSpawner extends AbstractPoweredTaskEntity {
 
@@ -339,6 +343,9 @@ public class TilePoweredSpawner extends AbstractPoweredTaskEntity {
           }
           resetTimer();
 
+          //the scan only sees the mobs that were there at the start of the tick, so add the ones spawned since
+          int nearby = -1;
+          int spawned = 0;
           for (int i = 0; i < spawnCount; ++i) {
 
             Entity entity = createEntity(true);
@@ -346,10 +353,16 @@ public class TilePoweredSpawner extends AbstractPoweredTaskEntity {
               return;
             }
 
-            int j = getSpawnerWorld().getEntitiesWithinAABB(
-                entity.getClass(),
-                AxisAlignedBB.getBoundingBox(getSpawnerX(), getSpawnerY(), getSpawnerZ(), getSpawnerX() + 1,
-                    getSpawnerY() + 1, getSpawnerZ() + 1).expand(spawnRange * 2, 4.0D, spawnRange * 2)).size();
+            if(nearby < 0) {
+              List<Entity> nearbyEntities = new ArrayList<Entity>();
+              EntityScanService.instance.getEntities(
+                  getSpawnerWorld(),
+                  entity.getClass(),
+                  AxisAlignedBB.getBoundingBox(getSpawnerX(), getSpawnerY(), getSpawnerZ(), getSpawnerX() + 1,
+                      getSpawnerY() + 1, getSpawnerZ() + 1).expand(spawnRange * 2, 4.0D, spawnRange * 2), null, nearbyEntities);
+              nearby = nearbyEntities.size();
+            }
+            int j = nearby + spawned;
 
             if(j >= maxNearbyEntities) {
               resetTimer();
@@ -364,6 +377,7 @@ public class TilePoweredSpawner extends AbstractPoweredTaskEntity {
 
             if(entityliving != null && canSpawnEntity(entityliving)) {
               func_98265_a(entity);
+              spawned++;
               getSpawnerWorld().playAuxSFX(2004, getSpawnerX(), getSpawnerY(), getSpawnerZ(), 0);
 
               if(entityliving != null)
@@ -1,20 +1,20 @@
 package crazypants.enderio.machine.spawnguard;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import net.minecraft.entity.monster.EntitySlime;
 import net.minecraft.entity.passive.EntitySquid;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
 import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.event.entity.living.LivingDropsEvent;
 import net.minecraftforge.event.entity.living.LivingSpawnEvent;
-import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.eventhandler.Event.Result;
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import crazypants.enderio.config.Config;
-import crazypants.enderio.machine.wireless.IWirelessCharger;
-import crazypants.enderio.machine.wireless.WirelessChargerController;
 import crazypants.util.BlockCoord;
 
 public class SpawnGuardController {
@@ -25,7 +25,7 @@ public class SpawnGuardController {
     MinecraftForge.EVENT_BUS.register(SpawnGuardController.instance);
   }
 
-  private Map<Integer, Map<BlockCoord, TileSpawnGuard>> perWorldGuards = new HashMap<Integer, Map<BlockCoord, TileSpawnGuard>>();
+  private Map<Integer, WorldGuards> perWorldGuards = new HashMap<Integer, WorldGuards>();
 
   private SpawnGuardController() {
   }
@@ -34,16 +34,29 @@ public class SpawnGuardController {
     if(guard == null) {
       return;
     }    
-    Map<BlockCoord, TileSpawnGuard> chargers = getGuardsForWorld(guard.getWorldObj());
-    chargers.put(guard.getLocation(), guard);
+    WorldGuards guards = getGuardsForWorld(guard.getWorldObj());
+    guards.remove(guard.getLocation());
+    guards.add(guard);
   }
 
   public void deregisterGuard(TileSpawnGuard guard) {
     if(guard == null) {
       return;
     }
-    Map<BlockCoord, TileSpawnGuard> chargers = getGuardsForWorld(guard.getWorldObj());
-    chargers.remove(guard.getLocation());
+    getGuardsForWorld(guard.getWorldObj()).remove(guard.getLocation());
+  }
+
+  /**
+   * Re-indexes a registered guard after its range has changed.
+   */
+  public void guardRangeChanged(TileSpawnGuard guard) {
+    if(guard == null || guard.getWorldObj() == null) {
+      return;
+    }
+    WorldGuards guards = getGuardsForWorld(guard.getWorldObj());
+    if(guards.remove(guard.getLocation())) {
+      guards.add(guard);
+    }
   }
   
   @SubscribeEvent
@@ -58,23 +71,94 @@ public class SpawnGuardController {
       return;
     }
     
-    
-    Map<BlockCoord, TileSpawnGuard> guards = getGuardsForWorld(evt.world);
-    for(TileSpawnGuard guard : guards.values()) {
-      if(guard.isSpawnPrevented(evt.entityLiving)) {   
+    WorldGuards guards = perWorldGuards.get(evt.world.provider.dimensionId);
+    if(guards == null) {
+      return;
+    }
+    List<TileSpawnGuard> candidates = guards.getGuardsCovering(MathHelper.floor_double(evt.entityLiving.posX) >> 4,
+        MathHelper.floor_double(evt.entityLiving.posZ) >> 4);
+    if(candidates == null) {
+      return;
+    }
+    for (int i = 0; i < candidates.size(); i++) {
+      if(candidates.get(i).isSpawnPrevented(evt.entityLiving)) {
         evt.setResult(Result.DENY);
         return;
       }
     }    
   }
   
-  private Map<BlockCoord, TileSpawnGuard> getGuardsForWorld(World world) {
-    Map<BlockCoord, TileSpawnGuard> res = perWorldGuards.get(world.provider.dimensionId);
+  private WorldGuards getGuardsForWorld(World world) {
+    WorldGuards res = perWorldGuards.get(world.provider.dimensionId);
     if(res == null) {
-      res = new HashMap<BlockCoord, TileSpawnGuard>();
+      res = new WorldGuards();
       perWorldGuards.put(world.provider.dimensionId, res);
     }
     return res;
   }
+
+  private static long chunkKey(int chunkX, int chunkZ) {
+    return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+  }
+
+  /**
+   * The guards of one dimension, with each guard also listed under every chunk
+   * column its range box overlaps so a spawn only has to look at the guards
+   * of its own chunk.
+   */
+  private static class WorldGuards {
+
+    private final Map<BlockCoord, TileSpawnGuard> guards = new HashMap<BlockCoord, TileSpawnGuard>();
+
+    //the chunk area each guard was indexed under, its range may have changed since
+    private final Map<BlockCoord, int[]> indexedAreas = new HashMap<BlockCoord, int[]>();
+
+    private final Map<Long, List<TileSpawnGuard>> byChunk = new HashMap<Long, List<TileSpawnGuard>>();
+
+    void add(TileSpawnGuard guard) {
+      BlockCoord loc = guard.getLocation();
+      AxisAlignedBB bb = guard.getBounds();
+      int[] area = new int[] { MathHelper.floor_double(bb.minX) >> 4, MathHelper.floor_double(bb.minZ) >> 4,
+          MathHelper.floor_double(bb.maxX) >> 4, MathHelper.floor_double(bb.maxZ) >> 4 };
+      guards.put(loc, guard);
+      indexedAreas.put(loc, area);
+      for (int x = area[0]; x <= area[2]; x++) {
+        for (int z = area[1]; z <= area[3]; z++) {
+          Long key = chunkKey(x, z);
+          List<TileSpawnGuard> inChunk = byChunk.get(key);
+          if(inChunk == null) {
+            inChunk = new ArrayList<TileSpawnGuard>(2);
+            byChunk.put(key, inChunk);
+          }
+          inChunk.add(guard);
+        }
+      }
+    }
+
+    boolean remove(BlockCoord loc) {
+      TileSpawnGuard guard = guards.remove(loc);
+      int[] area = indexedAreas.remove(loc);
+      if(guard == null || area == null) {
+        return false;
+      }
+      for (int x = area[0]; x <= area[2]; x++) {
+        for (int z = area[1]; z <= area[3]; z++) {
+          Long key = chunkKey(x, z);
+          List<TileSpawnGuard> inChunk = byChunk.get(key);
+          if(inChunk != null) {
+            inChunk.remove(guard);
+            if(inChunk.isEmpty()) {
+              byChunk.remove(key);
+            }
+          }
+        }
+      }
+      return true;
+    }
+
+    List<TileSpawnGuard> getGuardsCovering(int chunkX, int chunkZ) {
+      return byChunk.get(chunkKey(chunkX, chunkZ));
+    }
+  }
   
 }
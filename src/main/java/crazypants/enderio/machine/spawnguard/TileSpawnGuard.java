@@ -101,9 +101,20 @@ public class TileSpawnGuard extends AbstractPowerConsumerEntity implements IRang
     rangeSqu = range * range;    
     capacitor = new BasicCapacitor(powerPerTick * 8, capacitorType.capacitor.getMaxEnergyStored(), powerPerTick);
     
-    BoundingBox bb = new BoundingBox(getLocation());
-    bb = bb.scale(range + 0.5f, range + 0.5f, range + 0.5f).translate(0.5f, 0.5f, 0.5f);    
-    bounds = AxisAlignedBB.getBoundingBox(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ);
+    //recalculated on next use, the location may not be set yet
+    bounds = null;
+    if(registered) {
+      SpawnGuardController.instance.guardRangeChanged(this);
+    }
+  }
+
+  AxisAlignedBB getBounds() {
+    if(bounds == null) {
+      BoundingBox bb = new BoundingBox(getLocation());
+      bb = bb.scale(range + 0.5f, range + 0.5f, range + 0.5f).translate(0.5f, 0.5f, 0.5f);    
+      bounds = AxisAlignedBB.getBoundingBox(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ);
+    }
+    return bounds;
   }
 
   @Override
@@ -173,7 +184,7 @@ public class TileSpawnGuard extends AbstractPowerConsumerEntity implements IRang
       return false;
     }    
     //return new Vector3d(mob.posX, mob.posY, mob.posZ).distanceSquared(new Vector3d(xCoord, yCoord, zCoord)) <= rangeSqu;
-    return bounds.isVecInside(Vec3.createVectorHelper(mob.posX, mob.posY, mob.posZ));
+    return getBounds().isVecInside(Vec3.createVectorHelper(mob.posX, mob.posY, mob.posZ));
   }
 
   private boolean isMobInFilter(EntityLivingBase ent) {
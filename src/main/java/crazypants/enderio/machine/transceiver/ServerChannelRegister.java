@@ -7,9 +7,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -27,7 +29,10 @@ import org.apache.commons.io.FileUtils;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
+import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
 import crazypants.enderio.Log;
+import crazypants.enderio.conduit.ConduitNetworkTickHandler;
+import crazypants.enderio.conduit.ConduitNetworkTickHandler.TickListener;
 import crazypants.enderio.config.Config;
 import crazypants.enderio.machine.SlotDefinition;
 import crazypants.util.ItemUtil;
@@ -176,15 +181,73 @@ public class ServerChannelRegister extends ChannelRegister {
   private final List<TileTransceiver> transceivers = new ArrayList<TileTransceiver>();
   private Map<Channel, RoundRobinIterator<TileTransceiver>> iterators = new HashMap<Channel, RoundRobinIterator<TileTransceiver>>();
 
+  //the registered transceivers receiving on each channel, so sending only visits subscribers
+  private final Map<Channel, List<TileTransceiver>> receivers = new HashMap<Channel, List<TileTransceiver>>();
+
+  //transceivers with items to send at the end of this tick, and the tiles whose inventories were changed
+  private final Set<TileTransceiver> itemSenders = new LinkedHashSet<TileTransceiver>();
+  private final Set<TileTransceiver> changedInventories = new LinkedHashSet<TileTransceiver>();
+  private final ItemTransferTick itemTransferTick = new ItemTransferTick();
+  private boolean itemTransferScheduled = false;
+
   private ServerChannelRegister() {
   }
 
   public void register(TileTransceiver transceiver) {
     transceivers.add(transceiver);
+    addReceiver(transceiver);
   }
 
   public void dergister(TileTransceiver transceiver) {
     transceivers.remove(transceiver);
+    removeReceiver(transceiver);
+  }
+
+  void addReceiver(TileTransceiver transceiver, Channel channel) {
+    List<TileTransceiver> list = getReceivers(channel);
+    if(!list.contains(transceiver)) {
+      list.add(transceiver);
+    }
+  }
+
+  void removeReceiver(TileTransceiver transceiver, Channel channel) {
+    List<TileTransceiver> list = receivers.get(channel);
+    if(list != null) {
+      list.remove(transceiver);
+    }
+  }
+
+  /**
+   * Re-indexes a registered transceiver after its receive channels have been
+   * replaced.
+   */
+  void receiveChannelsChanged(TileTransceiver transceiver) {
+    removeReceiver(transceiver);
+    addReceiver(transceiver);
+  }
+
+  private void addReceiver(TileTransceiver transceiver) {
+    for (List<Channel> chans : transceiver.getReceiveChannels().values()) {
+      for (Channel chan : chans) {
+        addReceiver(transceiver, chan);
+      }
+    }
+  }
+
+  private void removeReceiver(TileTransceiver transceiver) {
+    for (List<TileTransceiver> list : receivers.values()) {
+      list.remove(transceiver);
+    }
+  }
+
+  private List<TileTransceiver> getReceivers(Channel channel) {
+    //lists are kept once created as the round robin iterators hold on to them
+    List<TileTransceiver> res = receivers.get(channel);
+    if(res == null) {
+      res = new ArrayList<TileTransceiver>();
+      receivers.put(channel, res);
+    }
+    return res;
   }
 
   @Override
@@ -192,6 +255,13 @@ public class ServerChannelRegister extends ChannelRegister {
     super.reset();
     transceivers.clear();
     iterators.clear();
+    receivers.clear();
+    itemSenders.clear();
+    changedInventories.clear();
+    if(itemTransferScheduled) {
+      ConduitNetworkTickHandler.instance.removeListener(itemTransferTick);
+      itemTransferScheduled = false;
+    }
   }
 
   @Override
@@ -202,6 +272,7 @@ public class ServerChannelRegister extends ChannelRegister {
       trans.removeSendChanel(channel);
     }
     iterators.remove(channel);
+    receivers.remove(channel);
     queueStore();
   }
 
@@ -214,7 +285,7 @@ public class ServerChannelRegister extends ChannelRegister {
   public RoundRobinIterator<TileTransceiver> getIterator(Channel channel) {
     RoundRobinIterator<TileTransceiver> res = iterators.get(channel);
     if(res == null) {
-      res = new RoundRobinIterator<TileTransceiver>(transceivers);
+      res = new RoundRobinIterator<TileTransceiver>(getReceivers(channel));
       iterators.put(channel, res);
     }
     return res;
@@ -225,7 +296,7 @@ public class ServerChannelRegister extends ChannelRegister {
   public void sendPower(TileTransceiver sender, int canSend, Channel channel) {
     RoundRobinIterator<TileTransceiver> iter = getIterator(channel);
     for (TileTransceiver trans : iter) {
-      if(trans != sender && trans.getRecieveChannels(ChannelType.POWER).contains(channel)) {
+      if(trans != sender) {
         double invLoss = 1 - Config.transceiverEnergyLoss;
         int canSendWithLoss = (int) Math.round(canSend * invLoss);
         int recieved = trans.receiveEnergy(ForgeDirection.UNKNOWN, canSendWithLoss, false);
@@ -241,19 +312,38 @@ public class ServerChannelRegister extends ChannelRegister {
 
   public FluidTankInfo[] getTankInfoForChannels(TileTransceiver tileTransceiver, List<Channel> channels) {
     List<FluidTankInfo> infos = new ArrayList<FluidTankInfo>();
-    for (TileTransceiver tran : transceivers) {
-      if(tran != tileTransceiver) {
-        tran.getRecieveTankInfo(infos, channels);
+    for (int i = 0; i < channels.size(); i++) {
+      List<TileTransceiver> list = receivers.get(channels.get(i));
+      if(list != null) {
+        for (TileTransceiver tran : list) {
+          if(tran != tileTransceiver && !isReceiverForAny(tran, channels, i)) {
+            tran.getRecieveTankInfo(infos, channels);
+          }
+        }
       }
     }
     return infos.toArray(new FluidTankInfo[infos.size()]);
   }
 
+  //true if tran receives on one of the first count channels, and so has already been visited
+  private boolean isReceiverForAny(TileTransceiver tran, List<Channel> channels, int count) {
+    List<Channel> recieveChannels = tran.getRecieveChannels(ChannelType.FLUID);
+    for (int i = 0; i < count; i++) {
+      if(recieveChannels.contains(channels.get(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public boolean canFill(TileTransceiver tileTransceiver, List<Channel> channels, Fluid fluid) {
-    for (TileTransceiver tran : transceivers) {
-      if(tran != tileTransceiver) {
-        if(tran.canReceive(channels, fluid)) {
-          return true;
+    for (Channel channel : channels) {
+      List<TileTransceiver> list = receivers.get(channel);
+      if(list != null) {
+        for (TileTransceiver tran : list) {
+          if(tran != tileTransceiver && tran.canReceive(channels, fluid)) {
+            return true;
+          }
         }
       }
     }
@@ -284,6 +374,40 @@ public class ServerChannelRegister extends ChannelRegister {
 
   //Item 
 
+  /**
+   * Queues the items in a transceiver's input slots to be sent at the end of
+   * the tick, when the items of every sender are moved together and each
+   * changed inventory is marked dirty once.
+   */
+  public void queueItemSend(TileTransceiver from) {
+    itemSenders.add(from);
+    if(!itemTransferScheduled) {
+      itemTransferScheduled = true;
+      ConduitNetworkTickHandler.instance.addListener(itemTransferTick);
+    }
+  }
+
+  private void transferItems() {
+    itemTransferScheduled = false;
+    for (TileTransceiver from : itemSenders) {
+      if(!from.isInvalid()) {
+        List<Channel> channels = from.getSendChannels(ChannelType.ITEM);
+        SlotDefinition sd = from.getSlotDefinition();
+        for (int slot = sd.minInputSlot; slot <= sd.maxInputSlot && !channels.isEmpty(); slot++) {
+          ItemStack toSend = from.getStackInSlot(slot);
+          if(toSend != null) {
+            sendItem(from, channels, slot, toSend);
+          }
+        }
+      }
+    }
+    itemSenders.clear();
+    for (TileTransceiver changed : changedInventories) {
+      changed.markDirty();
+    }
+    changedInventories.clear();
+  }
+
   public void sendItem(TileTransceiver from, List<Channel> channels, int slot, ItemStack contents) {
     if(!from.hasPower()) {
       return;
@@ -294,7 +418,7 @@ public class ServerChannelRegister extends ChannelRegister {
     for (Channel channel : channels) {
       RoundRobinIterator<TileTransceiver> iter = getIterator(channel);
       for (TileTransceiver trans : iter) {
-        if(trans != from && trans.getRecieveChannels(ChannelType.ITEM).contains(channel) && trans.getRedstoneChecksPassed()) {
+        if(trans != from && trans.getRedstoneChecksPassed()) {
           contents = sendItem(from, slot, contents, trans);
           if(contents == null) {
             return;
@@ -304,64 +428,72 @@ public class ServerChannelRegister extends ChannelRegister {
     }
   }
 
+  //moves what it can of the stack in the senders slot into the receiver, changing the stacks in place
   private ItemStack sendItem(TileTransceiver from, int slot, ItemStack contents, TileTransceiver to) {
     SlotDefinition sd = to.getSlotDefinition();
     if(!to.getReceiveItemFilter().doesItemPassFilter(null, contents)) {
       return contents;
     }
-    //try merging into existing stacks    
 
-    boolean sendComplete = false; // Only allow 1 stack per item type
-    for (int i = sd.minOutputSlot; i <= sd.maxOutputSlot && !sendComplete; i++) {
+    //try merging into existing stacks, only allowing 1 stack per item type
+    for (int i = sd.minOutputSlot; i <= sd.maxOutputSlot; i++) {
       ItemStack existing = to.getStackInSlot(i);
       if(ItemUtil.areStacksEqual(existing, contents)) {
-        sendComplete = true;
-        if(existing.stackSize < to.getInventoryStackLimit()) {
-          int numCanMerge = existing.getMaxStackSize() - existing.stackSize;
-          numCanMerge = Math.min(numCanMerge, contents.stackSize);
-          ItemStack remaining;
-          if(numCanMerge >= contents.stackSize) {
-            remaining = null;
-          } else {
-            remaining = contents.copy();
-            remaining.stackSize -= numCanMerge;
-          }
-          ItemStack destStack = existing.copy();
-          destStack.stackSize += numCanMerge;
-          to.setInventorySlotContents(i, destStack);
-          from.setInventorySlotContents(slot, remaining);
-          if(remaining == null) {
-            return null;
-          } else {
-            contents = remaining.copy();
-          }
+        if(existing.stackSize >= to.getInventoryStackLimit()) {
+          return contents;
+        }
+        int numCanMerge = Math.min(existing.getMaxStackSize() - existing.stackSize, contents.stackSize);
+        if(numCanMerge <= 0) {
+          return contents;
         }
+        existing.stackSize += numCanMerge;
+        contents.stackSize -= numCanMerge;
+        changedInventories.add(to);
+        changedInventories.add(from);
+        if(contents.stackSize <= 0) {
+          from.setSlotContentsWithoutCopy(slot, null);
+          return null;
+        }
+        return contents;
       }
     }
-    if(!sendComplete) {
-      //then fill empty stack
-      for (int i = sd.minOutputSlot; i <= sd.maxOutputSlot; i++) {
-        ItemStack existing = to.getStackInSlot(i);
-        if(existing == null) {
-          int numCanMerge = Math.min(contents.stackSize, to.getInventoryStackLimit());
-          if(numCanMerge > 0) {
-            ItemStack destStack = contents.copy();
-            destStack.stackSize = numCanMerge;
-            to.setInventorySlotContents(i, destStack);
-            ItemStack remaining = contents.copy();
-            remaining.stackSize -= numCanMerge;
-            if(remaining.stackSize == 0) {
-              remaining = null;
-            }
-            from.setInventorySlotContents(slot, remaining);
+
+    //then fill empty stack
+    for (int i = sd.minOutputSlot; i <= sd.maxOutputSlot; i++) {
+      if(to.getStackInSlot(i) == null) {
+        int numCanMerge = Math.min(contents.stackSize, to.getInventoryStackLimit());
+        if(numCanMerge > 0) {
+          changedInventories.add(to);
+          changedInventories.add(from);
+          if(numCanMerge == contents.stackSize) {
+            to.setSlotContentsWithoutCopy(i, contents);
+            from.setSlotContentsWithoutCopy(slot, null);
             return null;
           }
+          ItemStack destStack = contents.copy();
+          destStack.stackSize = numCanMerge;
+          to.setSlotContentsWithoutCopy(i, destStack);
+          contents.stackSize -= numCanMerge;
+          return contents;
         }
       }
     }
     return contents;
   }
 
+  private class ItemTransferTick implements TickListener {
+
+    @Override
+    public void tickStart(ServerTickEvent evt) {
+    }
+
+    @Override
+    public void tickEnd(ServerTickEvent evt) {
+      transferItems();
+    }
+
+  }
+
   private static class SaveRunnable implements Runnable {
 
     private EnumMap<ChannelType, List<Channel>> chans;
@@ -204,6 +204,9 @@ public class TileTransceiver extends AbstractPoweredTaskEntity implements IFluid
         sendChannelsDirty = true;
       } else {
         recieveChannelsDirty = true;
+        if(registered) {
+          ServerChannelRegister.instance.addReceiver(this, channel);
+        }
       }
     }
 
@@ -220,6 +223,9 @@ public class TileTransceiver extends AbstractPoweredTaskEntity implements IFluid
         sendChannelsDirty = true;
       } else {
         recieveChannelsDirty = true;
+        if(registered) {
+          ServerChannelRegister.instance.removeReceiver(this, channel);
+        }
       }
     }
   }
@@ -242,6 +248,9 @@ public class TileTransceiver extends AbstractPoweredTaskEntity implements IFluid
     super.readCommon(nbtRoot);
     readChannels(nbtRoot, sendChannels, "sendChannels");
     readChannels(nbtRoot, recieveChannels, "recieveChannels");
+    if(registered) {
+      ServerChannelRegister.instance.receiveChannelsChanged(this);
+    }
 
     if(nbtRoot.hasKey("sendItemFilter")) {
       NBTTagCompound itemRoot = nbtRoot.getCompoundTag("sendItemFilter");
@@ -327,6 +336,9 @@ public class TileTransceiver extends AbstractPoweredTaskEntity implements IFluid
       recieveChannels.get(type).clear();
       recieveChannels.get(type).addAll(channels.get(type));
     }
+    if(registered) {
+      ServerChannelRegister.instance.receiveChannelsChanged(this);
+    }
   }
 
   EnumMap<ChannelType, List<Channel>> getSendChannels() {
@@ -539,17 +551,24 @@ public class TileTransceiver extends AbstractPoweredTaskEntity implements IFluid
   }
 
   private void processItems() {
-    List<Channel> sendItemChannels = getSendChannels(ChannelType.ITEM);
-    if(!sendItemChannels.isEmpty()) {
+    if(!getSendChannels(ChannelType.ITEM).isEmpty()) {
       for (int i = slotDefinition.minInputSlot; i <= slotDefinition.maxInputSlot; i++) {
-        ItemStack toSend = getStackInSlot(i);
-        if(toSend != null) {
-          ServerChannelRegister.instance.sendItem(this, sendItemChannels, i, toSend);
+        if(getStackInSlot(i) != null) {
+          ServerChannelRegister.instance.queueItemSend(this);
+          return;
         }
       }
     }
   }
 
+  /**
+   * Used by the item transfer, which changes stacks in place and marks the
+   * inventory dirty once it is done.
+   */
+  void setSlotContentsWithoutCopy(int slot, ItemStack contents) {
+    inventory[slot] = contents;
+  }
+
   public ItemFilter getSendItemFilter() {
     return sendItemFilter;
   }
@@ -1,5 +1,6 @@
 package crazypants.enderio.machine.vacuum;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.command.IEntitySelector;
@@ -17,6 +18,7 @@ import crazypants.enderio.ModObject;
 import crazypants.enderio.config.Config;
 import crazypants.render.BoundingBox;
 import crazypants.util.BlockCoord;
+import crazypants.util.EntityScanService;
 import crazypants.util.ItemUtil;
 
 public class TileVacuumChest extends TileEntity implements  IEntitySelector, IInventory {
@@ -25,6 +27,8 @@ public class TileVacuumChest extends TileEntity implements  IEntitySelector, IIn
   private static final double RANGE = Config.vacuumChestRange;
   private ItemStack[] inv = new ItemStack[27];
 
+  private final List<EntityItem> hooverTargets = new ArrayList<EntityItem>();
+
   @Override
   public void updateEntity() {
     if(!isFull()) {
@@ -53,9 +57,20 @@ public class TileVacuumChest extends TileEntity implements  IEntitySelector, IIn
     BoundingBox bb = new BoundingBox(getLocation());
     AxisAlignedBB aabb = AxisAlignedBB.getBoundingBox(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ);
     aabb = aabb.expand(RANGE, RANGE, RANGE);
-    List<EntityItem> interestingItems = worldObj.selectEntitiesWithinAABB(EntityItem.class, aabb, this);
+    EntityScanService.instance.getEntities(worldObj, EntityItem.class, aabb, this, hooverTargets);
+
+    if(Config.vacuumChestCoalesceItems && !worldObj.isRemote) {
+      //take in all we can straight away, and merge what is left so there are fewer entities to pull in
+      for (EntityItem entity : hooverTargets) {
+        hooverEntity(entity);
+      }
+      ItemUtil.coalesceEntityItems(hooverTargets);
+    }
 
-    for (EntityItem entity : interestingItems) {
+    for (EntityItem entity : hooverTargets) {
+      if(entity.isDead) {
+        continue;
+      }
       double x = (xCoord + 0.5D - entity.posX);
       double y = (yCoord + 0.5D - entity.posY);
       double z = (zCoord + 0.5D - entity.posZ);
@@ -74,6 +89,7 @@ public class TileVacuumChest extends TileEntity implements  IEntitySelector, IIn
       }
 
     }
+    hooverTargets.clear();
   }
   
   private void hooverEntity(Entity entity) {
@@ -83,10 +99,12 @@ public class TileVacuumChest extends TileEntity implements  IEntitySelector, IIn
         ItemStack stack = item.getEntityItem().copy();
 
         int numInserted = ItemUtil.doInsertItem(this, stack);
-        stack.stackSize -= numInserted;
-        item.setEntityItemStack(stack);
-        if(stack.stackSize == 0) {
-          item.setDead();
+        if(numInserted > 0) {
+          stack.stackSize -= numInserted;
+          item.setEntityItemStack(stack);
+          if(stack.stackSize == 0) {
+            item.setDead();
+          }
         }
       }
     }
@@ -1,12 +1,18 @@
 package crazypants.enderio.machine.wireless;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
 import net.minecraftforge.common.MinecraftForge;
+import cofh.api.energy.IEnergyContainerItem;
 import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import cpw.mods.fml.common.gameevent.TickEvent;
@@ -21,6 +27,9 @@ public class WirelessChargerController {
   public static final int RANGE = Config.wirelessChargerRange;
   public static final int RANGE_SQ = RANGE * RANGE;
 
+  //how long a player with nothing to charge is skipped if their inventory does not change
+  private static final int IDLE_RECHECK_TICKS = 20;
+
   static {
     FMLCommonHandler.instance().bus().register(WirelessChargerController.instance);
     MinecraftForge.EVENT_BUS.register(WirelessChargerController.instance);
@@ -28,6 +37,11 @@ public class WirelessChargerController {
 
   private Map<Integer, Map<BlockCoord, IWirelessCharger>> perWorldChargers = new HashMap<Integer, Map<BlockCoord, IWirelessCharger>>();
 
+  //chargers listed under every chunk column they can reach
+  private Map<Integer, Map<Long, List<ChargerEntry>>> perWorldChunks = new HashMap<Integer, Map<Long, List<ChargerEntry>>>();
+
+  private final Map<EntityPlayer, IdleState> idlePlayers = new WeakHashMap<EntityPlayer, IdleState>();
+
   private WirelessChargerController() {
   }
 
@@ -36,7 +50,24 @@ public class WirelessChargerController {
       return;
     }    
     Map<BlockCoord, IWirelessCharger> chargers = getChargersForWorld(charger.getWorld());
-    chargers.put(charger.getLocation(), charger);
+    BlockCoord loc = charger.getLocation();
+    IWirelessCharger old = chargers.put(loc, charger);
+    Map<Long, List<ChargerEntry>> chunks = getChunksForWorld(charger.getWorld());
+    if(old != null) {
+      removeFromChunks(chunks, loc);
+    }
+    ChargerEntry entry = new ChargerEntry(charger, loc);
+    for (int x = (loc.x - RANGE) >> 4; x <= (loc.x + RANGE) >> 4; x++) {
+      for (int z = (loc.z - RANGE) >> 4; z <= (loc.z + RANGE) >> 4; z++) {
+        Long key = chunkKey(x, z);
+        List<ChargerEntry> inChunk = chunks.get(key);
+        if(inChunk == null) {
+          inChunk = new ArrayList<ChargerEntry>(2);
+          chunks.put(key, inChunk);
+        }
+        inChunk.add(entry);
+      }
+    }
   }
 
   public void deregisterCharger(IWirelessCharger capBank) {
@@ -44,7 +75,30 @@ public class WirelessChargerController {
       return;
     }
     Map<BlockCoord, IWirelessCharger> chargers = getChargersForWorld(capBank.getWorld());
-    chargers.remove(capBank.getLocation());
+    BlockCoord loc = capBank.getLocation();
+    if(chargers.remove(loc) != null) {
+      removeFromChunks(getChunksForWorld(capBank.getWorld()), loc);
+    }
+  }
+
+  private void removeFromChunks(Map<Long, List<ChargerEntry>> chunks, BlockCoord loc) {
+    for (int x = (loc.x - RANGE) >> 4; x <= (loc.x + RANGE) >> 4; x++) {
+      for (int z = (loc.z - RANGE) >> 4; z <= (loc.z + RANGE) >> 4; z++) {
+        Long key = chunkKey(x, z);
+        List<ChargerEntry> inChunk = chunks.get(key);
+        if(inChunk == null) {
+          continue;
+        }
+        for (int i = inChunk.size() - 1; i >= 0; i--) {
+          if(inChunk.get(i).location.equals(loc)) {
+            inChunk.remove(i);
+          }
+        }
+        if(inChunk.isEmpty()) {
+          chunks.remove(key);
+        }
+      }
+    }
   }
 
   @SubscribeEvent
@@ -56,19 +110,52 @@ public class WirelessChargerController {
   }
 
   public void chargePlayersItems(EntityPlayer player) {
-    Map<BlockCoord, IWirelessCharger> chargers = getChargersForWorld(player.worldObj);
-    if(chargers.isEmpty()) {
+    Map<Long, List<ChargerEntry>> chunks = perWorldChunks.get(player.worldObj.provider.dimensionId);
+    if(chunks == null || chunks.isEmpty()) {
+      return;
+    }
+    int px = MathHelper.floor_double(player.posX);
+    int py = MathHelper.floor_double(player.posY);
+    int pz = MathHelper.floor_double(player.posZ);
+    List<ChargerEntry> nearby = chunks.get(chunkKey(px >> 4, pz >> 4));
+    if(nearby == null) {
+      return;
+    }
+
+    long now = player.worldObj.getTotalWorldTime();
+    int fingerprint = getInventoryFingerprint(player);
+    IdleState idle = idlePlayers.get(player);
+    if(idle != null && idle.fingerprint == fingerprint && now < idle.recheckAt) {
       return;
     }
-    BlockCoord bc = new BlockCoord(player);
-    for (IWirelessCharger capBank : chargers.values()) {
-      if(capBank.isActive() && capBank.getLocation().distanceSquared(bc) <= RANGE_SQ) {
-        boolean done = chargeFromCapBank(player, capBank);
+
+    boolean inRange = false;
+    for (int i = 0; i < nearby.size(); i++) {
+      ChargerEntry entry = nearby.get(i);
+      BlockCoord loc = entry.location;
+      int dx = loc.x - px;
+      int dy = loc.y - py;
+      int dz = loc.z - pz;
+      if(dx * dx + dy * dy + dz * dz <= RANGE_SQ && entry.charger.isActive()) {
+        inRange = true;
+        boolean done = chargeFromCapBank(player, entry.charger);
         if(done) {
+          idlePlayers.remove(player);
           return;
         }
       }
     }
+
+    if(inRange && !hasChargeableItem(player.inventory.armorInventory) && !hasChargeableItem(player.inventory.mainInventory)) {
+      if(idle == null) {
+        idle = new IdleState();
+        idlePlayers.put(player, idle);
+      }
+      idle.fingerprint = fingerprint;
+      idle.recheckAt = now + IDLE_RECHECK_TICKS;
+    } else if(idle != null) {
+      idlePlayers.remove(player);
+    }
   }
 
   private boolean chargeFromCapBank(EntityPlayer player, IWirelessCharger capBank) {
@@ -77,6 +164,34 @@ public class WirelessChargerController {
     return res;
   }
 
+  private static boolean hasChargeableItem(ItemStack[] items) {
+    for (ItemStack item : items) {
+      if(item != null && item.stackSize == 1 && item.getItem() instanceof IEnergyContainerItem) {
+        IEnergyContainerItem chargable = (IEnergyContainerItem) item.getItem();
+        if(chargable.getEnergyStored(item) < chargable.getMaxEnergyStored(item)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Changes whenever a stack is added, removed, replaced or resized. Energy
+   * drained from an item in place is not seen, which is what the idle recheck
+   * interval is for.
+   */
+  private static int getInventoryFingerprint(EntityPlayer player) {
+    int res = 1;
+    for (ItemStack item : player.inventory.armorInventory) {
+      res = 31 * res + (item == null ? 0 : System.identityHashCode(item) + item.stackSize);
+    }
+    for (ItemStack item : player.inventory.mainInventory) {
+      res = 31 * res + (item == null ? 0 : System.identityHashCode(item) + item.stackSize);
+    }
+    return res;
+  }
+
   private Map<BlockCoord, IWirelessCharger> getChargersForWorld(World world) {
     Map<BlockCoord, IWirelessCharger> res = perWorldChargers.get(world.provider.dimensionId);
     if(res == null) {
@@ -86,6 +201,19 @@ public class WirelessChargerController {
     return res;
   }
 
+  private Map<Long, List<ChargerEntry>> getChunksForWorld(World world) {
+    Map<Long, List<ChargerEntry>> res = perWorldChunks.get(world.provider.dimensionId);
+    if(res == null) {
+      res = new HashMap<Long, List<ChargerEntry>>();
+      perWorldChunks.put(world.provider.dimensionId, res);
+    }
+    return res;
+  }
+
+  private static long chunkKey(int chunkX, int chunkZ) {
+    return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+  }
+
   public Collection<IWirelessCharger> getChargers(World world) {
     return getChargerMap(world).values();
   }
@@ -93,4 +221,20 @@ public class WirelessChargerController {
   public Map<BlockCoord, IWirelessCharger> getChargerMap(World world) {
     return perWorldChargers.get(world.provider.dimensionId);
   }
+
+  private static class ChargerEntry {
+
+    final IWirelessCharger charger;
+    final BlockCoord location;
+
+    ChargerEntry(IWirelessCharger charger, BlockCoord location) {
+      this.charger = charger;
+      this.location = location;
+    }
+  }
+
+  private static class IdleState {
+    int fingerprint;
+    long recheckAt;
+  }
 }
@@ -0,0 +1,77 @@
+package crazypants.enderio.network;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import cpw.mods.fml.common.network.ByteBufUtils;
+import cpw.mods.fml.common.network.simpleimpl.IMessage;
+import cpw.mods.fml.common.network.simpleimpl.IMessageHandler;
+import cpw.mods.fml.common.network.simpleimpl.MessageContext;
+import crazypants.enderio.EnderIO;
+import crazypants.enderio.TileEntityEio;
+
+/**
+ * Carries the tags of a tile's client state that changed since it was last
+ * synced, and the names of any tags that are no longer written.
+ */
+public class PacketTileDelta implements IMessage, IMessageHandler<PacketTileDelta, IMessage> {
+
+  private int x;
+  private int y;
+  private int z;
+  private NBTTagCompound changed;
+  private List<String> removed;
+
+  public PacketTileDelta() {
+  }
+
+  public PacketTileDelta(TileEntity te, NBTTagCompound changed, List<String> removed) {
+    x = te.xCoord;
+    y = te.yCoord;
+    z = te.zCoord;
+    this.changed = changed;
+    this.removed = removed;
+  }
+
+  @Override
+  public void toBytes(ByteBuf buf) {
+    buf.writeInt(x);
+    buf.writeInt(y);
+    buf.writeInt(z);
+    NetworkUtil.writeNBTTagCompound(changed, buf);
+    buf.writeShort(removed.size());
+    for (String key : removed) {
+      ByteBufUtils.writeUTF8String(buf, key);
+    }
+  }
+
+  @Override
+  public void fromBytes(ByteBuf buf) {
+    x = buf.readInt();
+    y = buf.readInt();
+    z = buf.readInt();
+    changed = NetworkUtil.readNBTTagCompound(buf);
+    int numRemoved = buf.readShort();
+    removed = new ArrayList<String>(numRemoved);
+    for (int i = 0; i < numRemoved; i++) {
+      removed.add(ByteBufUtils.readUTF8String(buf));
+    }
+  }
+
+  @Override
+  public IMessage onMessage(PacketTileDelta message, MessageContext ctx) {
+    EntityPlayer player = EnderIO.proxy.getClientPlayer();
+    TileEntity te = player.worldObj.getTileEntity(message.x, message.y, message.z);
+    if(te instanceof TileEntityEio) {
+      ((TileEntityEio) te).applySyncedChanges(message.changed, message.removed);
+      player.worldObj.markBlockForUpdate(message.x, message.y, message.z);
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,183 @@
+package crazypants.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.command.IEntitySelector;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.item.EntityXPOrb;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.WorldEvent;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * Shares the entity lookups of area effect machines. The first lookup of a
+ * tick that touches a chunk sorts its items, xp orbs and living entities into
+ * lists, and every other lookup of that chunk in the same tick reads those
+ * lists instead of walking the chunk again. Entities spawned later in the tick
+ * are seen from the next tick on.
+ */
+public class EntityScanService {
+
+  public static final EntityScanService instance = new EntityScanService();
+
+  //chunks that have not been scanned for this long are forgotten
+  private static final int MAX_CHUNK_AGE = 200;
+
+  //the cached entities hold on to their world, so entries are dropped when the world unloads
+  private final Map<World, WorldEntities> worlds = new WeakHashMap<World, WorldEntities>();
+
+  private EntityScanService() {
+  }
+
+  private synchronized WorldEntities getWorldEntities(World world) {
+    WorldEntities res = worlds.get(world);
+    if(res == null) {
+      res = new WorldEntities();
+      worlds.put(world, res);
+    }
+    return res;
+  }
+
+  @SubscribeEvent
+  public synchronized void onWorldUnload(WorldEvent.Unload event) {
+    worlds.remove(event.world);
+  }
+
+  /**
+   * Adds the entities of the given type within bounds that pass the selector
+   * to result. Types other than items, xp orbs and living entities are looked
+   * up in the world directly.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Entity> void getEntities(World world, Class<T> type, AxisAlignedBB bounds, IEntitySelector selector, List<? super T> result) {
+    int bucket = getBucket(type);
+    if(bucket < 0) {
+      result.addAll(world.selectEntitiesWithinAABB(type, bounds, selector));
+      return;
+    }
+    WorldEntities worldEntities = getWorldEntities(world);
+    long now = world.getTotalWorldTime();
+    worldEntities.cleanup(now);
+
+    int minX = MathHelper.floor_double((bounds.minX - World.MAX_ENTITY_RADIUS) / 16.0D);
+    int maxX = MathHelper.floor_double((bounds.maxX + World.MAX_ENTITY_RADIUS) / 16.0D);
+    int minZ = MathHelper.floor_double((bounds.minZ - World.MAX_ENTITY_RADIUS) / 16.0D);
+    int maxZ = MathHelper.floor_double((bounds.maxZ + World.MAX_ENTITY_RADIUS) / 16.0D);
+    for (int x = minX; x <= maxX; x++) {
+      for (int z = minZ; z <= maxZ; z++) {
+        ChunkEntities entities = worldEntities.getChunkEntities(world, x, z, now);
+        if(entities != null) {
+          List<? extends Entity> candidates = entities.get(bucket);
+          for (int i = 0; i < candidates.size(); i++) {
+            Entity entity = candidates.get(i);
+            if(!entity.isDead && type.isInstance(entity) && entity.boundingBox.intersectsWith(bounds)
+                && (selector == null || selector.isEntityApplicable(entity))) {
+              result.add(type.cast(entity));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private int getBucket(Class<?> type) {
+    if(EntityItem.class.isAssignableFrom(type)) {
+      return ChunkEntities.ITEMS;
+    }
+    if(EntityXPOrb.class.isAssignableFrom(type)) {
+      return ChunkEntities.XP;
+    }
+    if(EntityLivingBase.class.isAssignableFrom(type)) {
+      return ChunkEntities.LIVING;
+    }
+    return -1;
+  }
+
+  private static class WorldEntities {
+
+    private final Map<Long, ChunkEntities> chunks = new HashMap<Long, ChunkEntities>();
+    private long lastCleanup;
+
+    ChunkEntities getChunkEntities(World world, int chunkX, int chunkZ, long now) {
+      if(!world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+        return null;
+      }
+      Long key = Long.valueOf(((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL));
+      ChunkEntities res = chunks.get(key);
+      if(res == null) {
+        res = new ChunkEntities();
+        chunks.put(key, res);
+      }
+      if(res.scanTime != now) {
+        res.scan(world.getChunkFromChunkCoords(chunkX, chunkZ), now);
+      }
+      return res;
+    }
+
+    void cleanup(long now) {
+      if(now - lastCleanup < MAX_CHUNK_AGE) {
+        return;
+      }
+      lastCleanup = now;
+      Iterator<ChunkEntities> iter = chunks.values().iterator();
+      while (iter.hasNext()) {
+        if(now - iter.next().scanTime >= MAX_CHUNK_AGE) {
+          iter.remove();
+        }
+      }
+    }
+  }
+
+  private static class ChunkEntities {
+
+    static final int ITEMS = 0;
+    static final int XP = 1;
+    static final int LIVING = 2;
+
+    final List<EntityItem> items = new ArrayList<EntityItem>();
+    final List<EntityXPOrb> xp = new ArrayList<EntityXPOrb>();
+    final List<EntityLivingBase> living = new ArrayList<EntityLivingBase>();
+    long scanTime = -1;
+
+    void scan(Chunk chunk, long now) {
+      scanTime = now;
+      items.clear();
+      xp.clear();
+      living.clear();
+      for (List<?> section : chunk.entityLists) {
+        for (int i = 0; i < section.size(); i++) {
+          Object entity = section.get(i);
+          if(entity instanceof EntityItem) {
+            items.add((EntityItem) entity);
+          } else if(entity instanceof EntityXPOrb) {
+            xp.add((EntityXPOrb) entity);
+          } else if(entity instanceof EntityLivingBase) {
+            living.add((EntityLivingBase) entity);
+          }
+        }
+      }
+    }
+
+    List<? extends Entity> get(int bucket) {
+      switch (bucket) {
+      case ITEMS:
+        return items;
+      case XP:
+        return xp;
+      default:
+        return living;
+      }
+    }
+  }
+
+}
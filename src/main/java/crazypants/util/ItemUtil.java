@@ -3,6 +3,8 @@ package crazypants.util;
 import java.util.ArrayList;
 import java.util.List;
 
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityItem;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.inventory.ISidedInventory;
 import net.minecraft.inventory.InventoryLargeChest;
@@ -90,6 +92,7 @@ public class ItemUtil {
         ItemStack contents = sidedInv.getStackInSlot(slot);
         ItemStack toInsert = item.copy();
         toInsert.stackSize = Math.min(toInsert.stackSize, sidedInv.getInventoryStackLimit());
+        toInsert.stackSize = Math.min(toInsert.stackSize, item.getMaxStackSize());
         toInsert.stackSize = Math.min(toInsert.stackSize, numToInsert);
         int inserted = 0;
         if(contents == null) {
@@ -126,6 +129,7 @@ public class ItemUtil {
       if(!isStackFull(contents)) {
         ItemStack toInsert = item.copy();
         toInsert.stackSize = Math.min(toInsert.stackSize, inv.getInventoryStackLimit());
+        toInsert.stackSize = Math.min(toInsert.stackSize, item.getMaxStackSize());
         toInsert.stackSize = Math.min(toInsert.stackSize, numToInsert);
         int inserted = 0;
         if(contents == null) {
@@ -157,6 +161,46 @@ public class ItemUtil {
     return numInserted;
   }
 
+  /**
+   * Merges item entities holding the same item into as few entities as full
+   * stacks allow. Merged entities are set dead, entities that are not items
+   * are left alone.
+   */
+  public static void coalesceEntityItems(List<? extends Entity> entities) {
+    List<EntityItem> open = new ArrayList<EntityItem>();
+    for (Entity entity : entities) {
+      if(!(entity instanceof EntityItem) || entity.isDead) {
+        continue;
+      }
+      EntityItem item = (EntityItem) entity;
+      ItemStack stack = item.getEntityItem();
+      if(stack == null || stack.stackSize >= stack.getMaxStackSize()) {
+        continue;
+      }
+      EntityItem target = null;
+      for (int i = 0; i < open.size() && target == null; i++) {
+        EntityItem candidate = open.get(i);
+        ItemStack candidateStack = candidate.getEntityItem();
+        if(areStacksEqual(candidateStack, stack) && candidateStack.stackSize + stack.stackSize <= candidateStack.getMaxStackSize()) {
+          target = candidate;
+        }
+      }
+      if(target == null) {
+        open.add(item);
+        continue;
+      }
+      ItemStack merged = target.getEntityItem().copy();
+      merged.stackSize += stack.stackSize;
+      target.setEntityItemStack(merged);
+      target.age = Math.min(target.age, item.age);
+      target.delayBeforeCanPickup = Math.max(target.delayBeforeCanPickup, item.delayBeforeCanPickup);
+      item.setDead();
+      if(merged.stackSize >= merged.getMaxStackSize()) {
+        open.remove(target);
+      }
+    }
+  }
+
   public static boolean isStackFull(ItemStack contents) {
     if(contents == null) {
       return false;